@@ -0,0 +1,28 @@
+package game;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the simulation benchmarks with the GC profiler attached, so every result reports
+ * allocation per operation ({@code gc.alloc.rate.norm}) next to its throughput.
+ * An optional argument is a regular expression selecting which benchmarks to run.
+ */
+public class BenchmarkMain {
+
+    /**
+     * @param args optional benchmark name filter
+     * @throws RunnerException if JMH fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : "game\\..*Benchmark")
+                .addProfiler(GCProfiler.class)
+                .jvmArgsAppend("-Djava.awt.headless=true")
+                .build();
+        new Runner(options).run();
+    }
+}
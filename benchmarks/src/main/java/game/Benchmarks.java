@@ -0,0 +1,25 @@
+package game;
+
+import java.util.Random;
+
+/**
+ * Helpers shared by the benchmarks.
+ */
+final class Benchmarks {
+
+    /** Seed used for every benchmark world, so runs generate identical levels. */
+    static final long SEED = 42;
+
+    private Benchmarks() { }
+
+    /**
+     * Build a level's world with sound muted, without starting its real-time loop.
+     *
+     * @param level level number (1, 2 or 3)
+     * @return the world
+     */
+    static GameWorld world(int level) {
+        Sound.setMuted(true);
+        return new HeadlessRunner().createWorld(level, new Random(SEED));
+    }
+}
@@ -0,0 +1,53 @@
+package game;
+
+import org.jbox2d.common.Vec2;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one step of lightweight bullets as their number grows: moving them and sweeping
+ * each against the player and the terrain. Bullets that hit or expire are replaced before
+ * each step, so every step moves the full count.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulletBenchmark {
+
+    @Param({"100", "1000", "4000"})
+    public int bullets;
+
+    private GameWorld world;
+    private BulletSystem system;
+    private final Random random = new Random(Benchmarks.SEED);
+    private final Vec2 position = new Vec2();
+    private final Vec2 velocity = new Vec2();
+    private long step;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        world = Benchmarks.world(3);
+        world.generatePlatforms(10);
+        system = world.getBullets();
+    }
+
+    /** Replace the bullets the last step removed, spread over the lower part of the level. */
+    @Setup(Level.Invocation)
+    public void refill() {
+        while (system.size() < bullets) {
+            position.set(-10 + random.nextFloat() * 20, random.nextFloat() * 30);
+            velocity.set(-5 + random.nextFloat() * 10, -5 + random.nextFloat() * 10);
+            system.fire(position, velocity, "data/fireball.png", step);
+        }
+    }
+
+    @Benchmark
+    public void updateBullets() {
+        system.update(step++, world.getPlayer(), world::bulletHitsTerrain, 30f);
+    }
+}
@@ -0,0 +1,79 @@
+package game;
+
+import city.cs.engine.BoxShape;
+import city.cs.engine.StaticBody;
+import org.jbox2d.common.Vec2;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collision dispatch for hazards, without stepping the world: contacts are fed straight to
+ * the collision table, and the collision queue runs the handlers as it does after a step.
+ * Hazards come from the world's pools, so a handled contact returns its hazard to the pool
+ * and the next operation reacquires it, as in play.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+
+    private static final Vec2 SLAB = new Vec2(0, 200);
+    private static final Vec2 ABOVE = new Vec2(0, SLAB.y + 1.0f);
+    private static final Vec2 DOWN = new Vec2(0, -20);
+
+    private GameWorld world;
+    private CollisionQueue queue;
+    private StaticBody slab;
+    private Projectile shot;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        world = Benchmarks.world(2);
+        queue = world.getCollisions();
+        slab = new StaticBody(world, new BoxShape(20, 0.5f));
+        slab.setPosition(SLAB);
+
+        // give the pooled hazards their images once, then park them
+        Projectile p = world.getProjectiles().acquire(ABOVE, 0);
+        p.launch(DOWN, "data/ice_shot.png");
+        p.retire();
+        FallingSpike s = world.getSpikes().acquire(ABOVE, 0);
+        s.drop("data/spike1.png", null);
+        s.retire();
+
+        // an active projectile that stays in play for the queue-only benchmark
+        shot = world.getProjectiles().acquire(ABOVE, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        world.dispose();
+    }
+
+    /** Filtering a contact by category and queueing its handler, then dropping the queue. */
+    @Benchmark
+    public void queueContact() {
+        CollisionTable.dispatch(shot, slab);
+        queue.clear();
+    }
+
+    /** A projectile hitting terrain: dispatched, handled and returned to its pool. */
+    @Benchmark
+    public void projectileCollide() {
+        Projectile p = world.getProjectiles().acquire(ABOVE, 0);
+        CollisionTable.dispatch(p, slab);
+        queue.postStep(null);
+    }
+
+    /** A falling spike hitting terrain: dispatched, handled and returned to its pool. */
+    @Benchmark
+    public void fallingSpikeCollide() {
+        FallingSpike s = world.getSpikes().acquire(ABOVE, 0);
+        CollisionTable.dispatch(s, slab);
+        queue.postStep(null);
+    }
+}
@@ -0,0 +1,63 @@
+package game;
+
+import city.cs.engine.DynamicBody;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one step of enemy fire as the number of enemies grows. With fire spread across
+ * steps, the cost of a step should stay flat rather than spiking on a shared volley step.
+ * Level 2 fires pooled projectile bodies and level 3 fires bullets; both are cleared after
+ * every invocation so no run ends up measuring only shots refused at capacity.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnemyFireBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int enemies;
+
+    @Param({"2", "3"})
+    public int level;
+
+    private GameWorld world;
+    private long step;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        world = Benchmarks.world(level);
+        for (int i = 0; i < enemies; i++) {
+            // keep every enemy within firing range of the player
+            world.spawnEnemyOnPlatform(-10 + (i % 20), -7 + (i % 10));
+        }
+    }
+
+    /** Return the step's shots so the pool and bullets never fill up between invocations. */
+    @TearDown(Level.Invocation)
+    public void clearProjectiles() {
+        for (DynamicBody b : new ArrayList<>(world.getDynamicBodies())) {
+            if (b instanceof Projectile) {
+                ((Projectile) b).retire();
+            }
+        }
+        if (world.getBullets() != null) {
+            world.getBullets().clear();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        world.dispose();
+    }
+
+    @Benchmark
+    public void fireEnemies() {
+        world.fireEnemies(step++);
+    }
+}
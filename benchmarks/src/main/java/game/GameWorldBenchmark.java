@@ -0,0 +1,62 @@
+package game;
+
+import org.jbox2d.common.Vec2;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-step world update paths: platform generation while climbing. Moving platforms are
+ * measured by {@link MovingPlatformsBenchmark}, which steps the world between calls.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameWorldBenchmark {
+
+    /** Units the player climbs per invocation, a brisk climb at one step per invocation. */
+    private static final float CLIMB = 0.1f;
+
+    @Param({"1", "2", "3"})
+    public int level;
+
+    private GameWorld world;
+    private Player player;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        world = Benchmarks.world(level);
+        // start from a realistic number of platforms above the player
+        world.generatePlatforms(40);
+        player = world.getPlayer();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        world.dispose();
+    }
+
+    /**
+     * The per-step work of a climbing player: generating platforms and stars above and
+     * culling chunks below, so the world stays the same size however long the climb.
+     */
+    @Benchmark
+    public void updatePlatform() {
+        float y = player.getPosition().y + CLIMB;
+        player.setPosition(new Vec2(player.getPosition().x, y));
+        world.updatePlatform();
+        world.cullChunks(y);
+    }
+
+    /** Generating one batch of platforms, including enemies, spikes and overlays. */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Measurement(iterations = 200, batchSize = 1)
+    public void generatePlatforms() {
+        world.generatePlatforms(5);
+    }
+}
@@ -0,0 +1,48 @@
+package game;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of driving every moving platform for one step. The world is stepped before each
+ * call, so the platforms have moved since the last one as they do in play; without it they
+ * would stand still and be turned back as blocked every few calls.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MovingPlatformsBenchmark {
+
+    @Param({"1", "2", "3"})
+    public int level;
+
+    private GameWorld world;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        world = Benchmarks.world(level);
+        // give updateMovingPlatforms a realistic number of platforms to move
+        world.generatePlatforms(40);
+    }
+
+    /** Advance physics so the platforms move between measured calls. */
+    @Setup(Level.Invocation)
+    public void step() {
+        world.oneStep();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        world.dispose();
+    }
+
+    /** Moving every moving platform by one step. */
+    @Benchmark
+    public void updateMovingPlatforms() {
+        world.updateMovingPlatforms();
+    }
+}
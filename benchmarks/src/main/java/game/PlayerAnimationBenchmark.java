@@ -0,0 +1,38 @@
+package game;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of advancing the player's walking animation by one step. Frames come from the
+ * animator's frame table, so this should allocate nothing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerAnimationBenchmark {
+
+    private GameWorld world;
+    private Player player;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        world = Benchmarks.world(1);
+        player = world.getPlayer();
+        player.startWalking(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        world.dispose();
+    }
+
+    @Benchmark
+    public void updateAnimation() {
+        player.getAnimator().tick();
+    }
+}
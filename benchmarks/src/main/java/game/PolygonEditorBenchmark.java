@@ -0,0 +1,36 @@
+package game;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatting a polygon's vertex list, which the editor does after every edit.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolygonEditorBenchmark {
+
+    @Param({"16", "256", "4096"})
+    public int vertices;
+
+    private PolygonEditor editor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        editor = new PolygonEditor(null, 2.0f);
+        for (int i = 0; i < vertices; i++) {
+            double a = 2 * Math.PI * i / vertices;
+            editor.addPoint((float) Math.cos(a), (float) Math.sin(a));
+        }
+    }
+
+    @Benchmark
+    public String polygonToString() {
+        return editor.toString();
+    }
+}
@@ -0,0 +1,55 @@
+package game;
+
+/**
+ * A repeating frame callback scheduled by an {@link AnimationSystem}.
+ * The callback fires every {@code periodSteps} world steps while the animation is running.
+ */
+public class Animation {
+
+    private final int periodSteps;
+    private final Runnable onFrame;
+    private int counter = 0;
+    private boolean running = true;
+    private boolean cancelled = false;
+
+    /**
+     * @param periodSteps number of world steps between frames
+     * @param onFrame     action run on each frame
+     */
+    Animation(int periodSteps, Runnable onFrame) {
+        this.periodSteps = periodSteps;
+        this.onFrame = onFrame;
+    }
+
+    /** Advance by one world step, firing the frame callback when the period elapses. */
+    void tick() {
+        if (running && ++counter >= periodSteps) {
+            counter = 0;
+            onFrame.run();
+        }
+    }
+
+    /** Resume frame callbacks; the first frame fires one full period later. */
+    public void start() {
+        if (!running) {
+            running = true;
+            counter = 0;
+        }
+    }
+
+    /** Pause frame callbacks without unregistering. */
+    public void stop() {
+        running = false;
+    }
+
+    /** Permanently remove this animation from its system. */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /** @return true if frames are currently being advanced */
+    public boolean isRunning() { return running && !cancelled; }
+
+    /** @return true once the animation has been cancelled */
+    public boolean isCancelled() { return cancelled; }
+}
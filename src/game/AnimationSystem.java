@@ -0,0 +1,102 @@
+package game;
+
+import city.cs.engine.Body;
+import city.cs.engine.StepEvent;
+import city.cs.engine.StepListener;
+import city.cs.engine.World;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Central animation clock for a world.
+ * <p>
+ * Instead of every animated body running its own timer thread, bodies register an
+ * {@link Animation} here and this system advances all of them from the world's step,
+ * on the physics thread. An animation is cancelled automatically when its body is destroyed.
+ */
+public class AnimationSystem implements StepListener {
+
+    /** Length of one physics step in milliseconds (the world steps at 60Hz). */
+    public static final float STEP_MILLIS = 1000f / 60;
+
+    private final List<Animation> animations = new ArrayList<>();
+
+    /**
+     * Create an animation system driven by the given world's step.
+     *
+     * @param world the world whose steps advance the animations
+     */
+    public AnimationSystem(World world) {
+        world.addStepListener(this);
+    }
+
+    /**
+     * Register a frame callback for a body. The animation starts running immediately.
+     *
+     * @param body     the animated body; the animation is cancelled when it is destroyed
+     * @param periodMs time between frames in milliseconds
+     * @param onFrame  called once per frame to advance the body's image
+     * @return the registered animation, which can be paused, resumed or cancelled
+     */
+    public Animation register(Body body, int periodMs, Runnable onFrame) {
+        int periodSteps = Math.max(1, Math.round(periodMs / STEP_MILLIS));
+        return add(body, new Animation(periodSteps, onFrame));
+    }
+
+    /**
+     * Register a sprite animator for a body. It is ticked every step and keeps its own
+     * per-state frame timing.
+     *
+     * @param body     the animated body; the animation is cancelled when it is destroyed
+     * @param animator the body's animator
+     * @return the registered animation, which can be paused, resumed or cancelled
+     */
+    public Animation register(Body body, SpriteAnimator animator) {
+        return add(body, new Animation(1, animator::tick));
+    }
+
+    private Animation add(Body body, Animation animation) {
+        animations.add(animation);
+        body.addDestructionListener(e -> animation.cancel());
+        return animation;
+    }
+
+    /** @return the number of animations currently registered */
+    public int size() {
+        return animations.size();
+    }
+
+    /**
+     * Cancel every animation, e.g. when the world is disposed.
+     */
+    public void clear() {
+        for (Animation a : animations) {
+            a.cancel();
+        }
+        animations.clear();
+    }
+
+    @Override
+    public void preStep(StepEvent e) { }
+
+    /**
+     * Advance every live animation by one step, dropping cancelled ones.
+     */
+    @Override
+    public void postStep(StepEvent e) {
+        int i = 0;
+        while (i < animations.size()) {
+            Animation a = animations.get(i);
+            if (a.isCancelled()) {
+                // swap-remove keeps removal O(1); order does not matter
+                int last = animations.size() - 1;
+                animations.set(i, animations.get(last));
+                animations.remove(last);
+            } else {
+                a.tick();
+                i++;
+            }
+        }
+    }
+}
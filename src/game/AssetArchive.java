@@ -0,0 +1,254 @@
+package game;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-only view of the packed asset archive built by {@link AssetPacker}.
+ * <p>
+ * The whole archive is memory-mapped once and its index read into a map, so opening an
+ * asset is a lookup plus a buffer slice rather than a file open. Entries are named by the
+ * same relative paths the code uses (e.g. {@code data/star.png}). When no archive exists,
+ * the static helpers fall back to reading the loose files, so development builds keep
+ * working without a packing step.
+ */
+public final class AssetArchive {
+
+    /** Archive file, relative to the working directory. */
+    public static final String FILE = "data.pak";
+
+    /** First bytes of an archive: "WPAK". */
+    static final int MAGIC = 0x5750414B;
+    static final int VERSION = 1;
+
+    private static AssetArchive instance;
+    private static boolean opened;
+
+    private final MappedByteBuffer data;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final FileTime lastModified;
+
+    /** Where an asset lives in the archive. */
+    private static final class Entry {
+        final int offset;
+        final int length;
+
+        Entry(int offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Map an archive and read its index.
+     *
+     * @param file path to the archive
+     * @throws IOException              if it cannot be read
+     * @throws IllegalArgumentException if it is not an archive of this version
+     */
+    public AssetArchive(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        lastModified = Files.getLastModifiedTime(file);
+        ByteBuffer in = data.duplicate();
+        if (in.getInt() != MAGIC || in.getShort() != VERSION) {
+            throw new IllegalArgumentException(file + " is not a version " + VERSION + " asset archive");
+        }
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            byte[] name = new byte[in.getShort()];
+            in.get(name);
+            entries.put(new String(name, StandardCharsets.UTF_8), new Entry(in.getInt(), in.getInt()));
+        }
+    }
+
+    /**
+     * Return the shared archive, mapping {@link #FILE} on first use.
+     *
+     * @return the archive, or null if there is none and assets are read from loose files
+     */
+    public static synchronized AssetArchive get() {
+        if (!opened) {
+            opened = true;
+            Path file = Paths.get(FILE);
+            if (Files.exists(file)) {
+                try {
+                    instance = new AssetArchive(file);
+                } catch (IOException | IllegalArgumentException e) {
+                    e.printStackTrace(); // Log the error if something goes wrong
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * @param path relative path of an asset
+     * @return true if the archive holds it
+     */
+    public boolean contains(String path) {
+        return entries.containsKey(path);
+    }
+
+    /**
+     * @return when the archive file was last written, e.g. to tell whether a loose file
+     *         was edited after it was packed
+     */
+    public FileTime getLastModified() { return lastModified; }
+
+    /**
+     * @param path relative path of an asset
+     * @return a read-only buffer over the asset's bytes, or null if the archive does not hold it
+     */
+    public ByteBuffer bytes(String path) {
+        Entry e = entries.get(path);
+        if (e == null) return null;
+        ByteBuffer b = data.duplicate();
+        b.position(e.offset).limit(e.offset + e.length);
+        return b.slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * @param path relative path of an asset
+     * @return its size in bytes, or -1 if the archive does not hold it
+     */
+    public long length(String path) {
+        Entry e = entries.get(path);
+        return e != null ? e.length : -1;
+    }
+
+    /**
+     * List the assets whose path starts and ends with the given strings.
+     *
+     * @param prefix start of the path, e.g. {@code "data/"}
+     * @param suffix end of the path, e.g. {@code ".wav"}
+     * @return matching paths
+     */
+    public List<String> list(String prefix, String suffix) {
+        List<String> paths = new ArrayList<>();
+        for (String path : entries.keySet()) {
+            if (path.startsWith(prefix) && path.endsWith(suffix)) paths.add(path);
+        }
+        return paths;
+    }
+
+    /** @return the number of assets in the archive */
+    public int size() { return entries.size(); }
+
+    /**
+     * Open an asset from the archive if it holds it, otherwise from the loose file.
+     * The stream supports mark and reset, as the audio decoders require.
+     *
+     * @param path relative path of the asset
+     * @return a stream over its bytes
+     * @throws FileNotFoundException if neither the archive nor the file system has it
+     */
+    public static InputStream open(String path) throws FileNotFoundException {
+        AssetArchive archive = get();
+        ByteBuffer bytes = archive != null ? archive.bytes(path) : null;
+        if (bytes != null) {
+            return new BufferInputStream(bytes);
+        }
+        return new BufferedInputStream(new FileInputStream(path));
+    }
+
+    /**
+     * Decode an image asset.
+     *
+     * @param path relative path of the image
+     * @return the decoded image, or null if it is missing or cannot be decoded
+     */
+    public static BufferedImage readImage(String path) {
+        AssetArchive archive = get();
+        try {
+            if (archive != null && archive.contains(path)) {
+                try (InputStream in = archive.openEntry(path)) {
+                    return ImageIO.read(in);
+                }
+            }
+            File file = new File(path);
+            return file.exists() ? ImageIO.read(file) : null;
+        } catch (IOException e) {
+            e.printStackTrace(); // Log the error if something goes wrong
+            return null;
+        }
+    }
+
+    /**
+     * Decode several images at once, in parallel on the common fork-join pool.
+     *
+     * @param paths relative paths of the images
+     * @return the decoded images by path; images that failed to decode are left out
+     */
+    public static Map<String, BufferedImage> readImages(Collection<String> paths) {
+        get(); // map the archive once, before the workers race to do it
+        Map<String, BufferedImage> images = new ConcurrentHashMap<>();
+        paths.parallelStream().distinct().forEach(path -> {
+            BufferedImage image = readImage(path);
+            if (image != null) images.put(path, image);
+        });
+        return images;
+    }
+
+    private InputStream openEntry(String path) {
+        return new BufferInputStream(bytes(path));
+    }
+
+    /** An input stream over a buffer slice, so reading an asset never copies the archive. */
+    private static final class BufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+        private int mark;
+
+        BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override public int read(byte[] b, int off, int len) {
+            if (len == 0) return 0;
+            if (!buffer.hasRemaining()) return -1;
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override public long skip(long n) {
+            int k = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + k);
+            return k;
+        }
+
+        @Override public int available() { return buffer.remaining(); }
+
+        @Override public boolean markSupported() { return true; }
+
+        @Override public synchronized void mark(int readLimit) { mark = buffer.position(); }
+
+        @Override public synchronized void reset() { buffer.position(mark); }
+    }
+}
@@ -0,0 +1,106 @@
+package game;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Build step that packs the {@code data/} directory into a single {@link AssetArchive}.
+ * <p>
+ * The archive starts with a header ({@link AssetArchive#MAGIC}, version, entry count)
+ * followed by an index of entry names, offsets and lengths, then the raw file bytes.
+ * Text level files are also stored compiled, so levels load straight from the archive.
+ * <pre>
+ *   java game.AssetPacker [dataDir] [output]
+ * </pre>
+ */
+public final class AssetPacker {
+
+    private AssetPacker() { }
+
+    /**
+     * Pack a directory into an archive.
+     *
+     * @param dataDir directory to pack; entries are named by their path as given, e.g. {@code data/star.png}
+     * @param output  archive file to write
+     * @return the number of entries written
+     * @throws IOException if a file cannot be read or the archive cannot be written
+     */
+    public static int pack(Path dataDir, Path output) throws IOException {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(dataDir)) {
+            files = walk.filter(Files::isRegularFile)
+                    .filter(p -> !p.toString().endsWith(".lvlb"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        for (Path file : files) {
+            String name = file.toString().replace('\\', '/');
+            entries.put(name, Files.readAllBytes(file));
+            if (name.endsWith(".lvl")) {
+                ByteArrayOutputStream compiled = new ByteArrayOutputStream();
+                try (DataOutputStream out = new DataOutputStream(compiled)) {
+                    LevelLoader.write(LevelLoader.parse(file), out);
+                }
+                entries.put(name + "b", compiled.toByteArray());
+            }
+        }
+
+        // the index size is known up front, so every entry's offset can be written before the data
+        List<byte[]> names = new ArrayList<>();
+        int offset = 4 + 2 + 4;
+        for (String name : entries.keySet()) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            names.add(bytes);
+            offset += 2 + bytes.length + 4 + 4;
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(output.toFile())))) {
+            out.writeInt(AssetArchive.MAGIC);
+            out.writeShort(AssetArchive.VERSION);
+            out.writeInt(entries.size());
+            int i = 0;
+            for (byte[] data : entries.values()) {
+                byte[] name = names.get(i++);
+                out.writeShort(name.length);
+                out.write(name);
+                out.writeInt(offset);
+                out.writeInt(data.length);
+                offset += data.length;
+            }
+            for (byte[] data : entries.values()) {
+                out.write(data);
+            }
+        }
+        return entries.size();
+    }
+
+    /**
+     * Pack the game's assets.
+     *
+     * @param args optional data directory (default {@code data}) and output file (default {@link AssetArchive#FILE})
+     * @throws IOException if packing fails
+     */
+    public static void main(String[] args) throws IOException {
+        Path dataDir = Paths.get(args.length > 0 ? args[0] : "data");
+        Path output = Paths.get(args.length > 1 ? args[1] : AssetArchive.FILE);
+        long start = System.nanoTime();
+        int count = pack(dataDir, output);
+        System.out.printf("Packed %d assets into %s (%d KB) in %.0f ms%n",
+                count, output, Files.size(output) / 1024, (System.nanoTime() - start) / 1e6);
+    }
+}
@@ -0,0 +1,286 @@
+package game;
+
+import city.cs.engine.BodyImage;
+import city.cs.engine.World;
+
+import javax.swing.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide cache of images, keyed by file path (and scale for body images).
+ * <p>
+ * Every sprite, platform and HUD icon is handed out as a shared instance, so spawning
+ * the hundredth enemy costs no file I/O or image decoding. Entries can be pinned to a
+ * named scope (typically one per level): pinned entries are never evicted, and once a
+ * scope ends its entries become candidates for least-recently-used eviction.
+ * Images are read through the {@link AssetArchive} when one is packed.
+ */
+public final class Assets {
+
+    /** Scope for assets used by every level, which is never ended. */
+    public static final String GLOBAL_SCOPE = "global";
+
+    /** Maximum number of cached entries kept once nothing pins them. */
+    private static final int MAX_ENTRIES = 96;
+
+    /** Access-ordered map, so iteration starts from the least recently used entry. */
+    private static final LinkedHashMap<String, Entry> cache = new LinkedHashMap<>(64, 0.75f, true);
+
+    /** File and height of every body image handed out, so a renderer can draw it itself. */
+    private static final Map<BodyImage, Source> sources = new WeakHashMap<>();
+
+    private static int hits;
+    private static int misses;
+
+    private Assets() { }
+
+    /** A cached asset together with the scopes currently pinning it. */
+    private static final class Entry {
+        final Object value;
+        final Set<String> scopes = new HashSet<>();
+
+        Entry(Object value) {
+            this.value = value;
+        }
+    }
+
+    /** Where a body image came from. */
+    private static final class Source {
+        final String path;
+        final float height;
+
+        Source(String path, float height) {
+            this.path = path;
+            this.height = height;
+        }
+    }
+
+    /**
+     * Return the shared body image for the given file and scale.
+     *
+     * @param path  path to the image file
+     * @param scale height of the image in world units
+     * @return a cached BodyImage
+     */
+    public static synchronized BodyImage image(String path, float scale) {
+        return image((String) null, path, scale);
+    }
+
+    /**
+     * Return the shared body image for the given file and scale, pinned to the scope of the
+     * level a world plays, so it is not evicted while that level is alive.
+     *
+     * @param world the world the image is shown in
+     * @param path  path to the image file
+     * @param scale height of the image in world units
+     * @return a cached BodyImage
+     */
+    public static synchronized BodyImage image(World world, String path, float scale) {
+        return image(scopeOf(world), path, scale);
+    }
+
+    /**
+     * Return shared body images for several files at the same scale, e.g. animation frames.
+     *
+     * @param scale height of each image in world units
+     * @param paths paths to the image files, in frame order
+     * @return a new array holding the cached BodyImages
+     */
+    public static synchronized BodyImage[] images(float scale, String... paths) {
+        return images((String) null, scale, paths);
+    }
+
+    /**
+     * Return shared body images for several files at the same scale, pinned to the scope of
+     * the level a world plays.
+     *
+     * @param world the world the images are shown in
+     * @param scale height of each image in world units
+     * @param paths paths to the image files, in frame order
+     * @return a new array holding the cached BodyImages
+     */
+    public static synchronized BodyImage[] images(World world, float scale, String... paths) {
+        return images(scopeOf(world), scale, paths);
+    }
+
+    /**
+     * Return shared body images for several files at the same scale, pinned to a scope.
+     *
+     * @param scope name of the scope, or null
+     * @param scale height of each image in world units
+     * @param paths paths to the image files, in frame order
+     * @return a new array holding the cached BodyImages
+     */
+    public static synchronized BodyImage[] images(String scope, float scale, String... paths) {
+        BodyImage[] frames = new BodyImage[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            frames[i] = image(scope, paths[i], scale);
+        }
+        return frames;
+    }
+
+    /**
+     * @param level a level number
+     * @return the asset scope holding that level's images
+     */
+    public static String levelScope(int level) {
+        return "level" + level;
+    }
+
+    /**
+     * @param world a world
+     * @return the asset scope of the level it plays, or null if it is not a level's world
+     */
+    static String scopeOf(World world) {
+        return world instanceof GameWorld ? levelScope(((GameWorld) world).getSpec().getNumber()) : null;
+    }
+
+    /**
+     * Return the shared, fully decoded icon for the given file.
+     *
+     * @param path path to the image file
+     * @return a cached ImageIcon
+     */
+    public static synchronized ImageIcon icon(String path) {
+        return (ImageIcon) get("icon:" + path, null, () -> loadIcon(path));
+    }
+
+    /**
+     * Decode a set of image files up front and pin them to a scope, so the first
+     * spawn in a level does not hitch on disk access. Images not yet cached are decoded
+     * in parallel, without holding the cache lock.
+     *
+     * @param scope name of the scope, e.g. {@code "level2"}
+     * @param paths image files belonging to the scope
+     */
+    public static void preload(String scope, String... paths) {
+        List<String> missing = new ArrayList<>();
+        synchronized (Assets.class) {
+            for (String path : paths) {
+                Entry e = cache.get("icon:" + path);
+                if (e != null) {
+                    e.scopes.add(scope);
+                } else {
+                    missing.add(path);
+                }
+            }
+        }
+        if (missing.isEmpty()) return;
+
+        Map<String, BufferedImage> decoded = AssetArchive.readImages(missing);
+        synchronized (Assets.class) {
+            for (String path : missing) {
+                BufferedImage image = decoded.get(path);
+                get("icon:" + path, scope, () -> image != null ? new ImageIcon(image) : new ImageIcon(path));
+            }
+        }
+    }
+
+    /**
+     * Decode an image file, from the archive when it is packed.
+     */
+    private static ImageIcon loadIcon(String path) {
+        BufferedImage image = AssetArchive.readImage(path);
+        return image != null ? new ImageIcon(image) : new ImageIcon(path);
+    }
+
+    /**
+     * Return the shared body image for the given file and scale, pinning it to a scope.
+     *
+     * @param scope name of the scope
+     * @param path  path to the image file
+     * @param scale height of the image in world units
+     * @return the cached BodyImage
+     */
+    public static synchronized BodyImage image(String scope, String path, float scale) {
+        return (BodyImage) get(path + "@" + scale, scope, () -> {
+            BodyImage image = new BodyImage(path, scale);
+            sources.put(image, new Source(path, scale));
+            return image;
+        });
+    }
+
+    /**
+     * @param image a body image returned by this cache
+     * @return path to its image file, or null if it did not come from this cache
+     */
+    public static synchronized String pathOf(BodyImage image) {
+        Source s = sources.get(image);
+        return s != null ? s.path : null;
+    }
+
+    /**
+     * @param image a body image returned by this cache
+     * @return its height in world units, or 0 if it did not come from this cache
+     */
+    public static synchronized float heightOf(BodyImage image) {
+        Source s = sources.get(image);
+        return s != null ? s.height : 0;
+    }
+
+    /**
+     * Release every entry pinned by the given scope. Released entries stay cached
+     * until the cache grows past its bound, then the least recently used go first.
+     *
+     * @param scope name of the scope that ended
+     */
+    public static synchronized void endScope(String scope) {
+        for (Entry e : cache.values()) {
+            e.scopes.remove(scope);
+        }
+        evict();
+    }
+
+    /** @return number of cache lookups served without loading */
+    public static synchronized int getHits() { return hits; }
+
+    /** @return number of cache lookups that had to load the asset */
+    public static synchronized int getMisses() { return misses; }
+
+    /** @return number of entries currently cached */
+    public static synchronized int size() { return cache.size(); }
+
+    /**
+     * Look up a key, loading and caching the value on a miss.
+     *
+     * @param key    cache key
+     * @param scope  scope to pin the entry to, or null
+     * @param loader creates the value on a miss
+     * @return the cached value
+     */
+    private static Object get(String key, String scope, Supplier<Object> loader) {
+        Entry e = cache.get(key);
+        if (e == null) {
+            misses++;
+            e = new Entry(loader.get());
+            cache.put(key, e);
+            if (scope != null) e.scopes.add(scope);
+            evict();
+        } else {
+            hits++;
+            if (scope != null) e.scopes.add(scope);
+        }
+        return e.value;
+    }
+
+    /**
+     * Drop least recently used, unpinned entries until the cache is within its bound.
+     */
+    private static void evict() {
+        Iterator<Map.Entry<String, Entry>> it = cache.entrySet().iterator();
+        while (cache.size() > MAX_ENTRIES && it.hasNext()) {
+            if (it.next().getValue().scopes.isEmpty()) {
+                it.remove();
+            }
+        }
+    }
+}
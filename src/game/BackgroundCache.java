@@ -0,0 +1,121 @@
+package game;
+
+import java.awt.*;
+import java.awt.image.VolatileImage;
+
+/**
+ * Draws a view's background layers from images pre-scaled to the view's size.
+ * <p>
+ * Each {@link ParallaxLayer} is rendered once into a {@link VolatileImage} compatible with
+ * the screen, at the size it will be drawn, so a frame only blits those images instead of
+ * rescaling the source file. The cached images are re-rendered only when the view is
+ * resized, the layers change, or the graphics system discards their contents. Layers may
+ * be replaced from any thread.
+ */
+public class BackgroundCache {
+
+    private ParallaxLayer[] layers = new ParallaxLayer[0];
+    private VolatileImage[] tiles = new VolatileImage[0];
+
+    /**
+     * Replace the background with a new set of layers, back to front.
+     *
+     * @param layers the layers to draw
+     */
+    public synchronized void setLayers(ParallaxLayer... layers) {
+        flush();
+        this.layers = layers.clone();
+        this.tiles = new VolatileImage[layers.length];
+    }
+
+    /**
+     * Draw every layer for the current camera position.
+     *
+     * @param g             graphics of the view
+     * @param view          the view being painted
+     * @param cameraY       world y-coordinate at the centre of the view
+     * @param pixelsPerUnit scale of the world on screen
+     */
+    public synchronized void paint(Graphics2D g, Component view, float cameraY, float pixelsPerUnit) {
+        int width = view.getWidth();
+        int height = view.getHeight();
+        GraphicsConfiguration gc = view.getGraphicsConfiguration();
+        if (width <= 0 || height <= 0 || gc == null) return;
+
+        for (int i = 0; i < layers.length; i++) {
+            ParallaxLayer layer = layers[i];
+            Image source = Assets.icon(layer.getImagePath()).getImage();
+            int tileHeight = tileHeight(layer, source, width, height);
+            if (tileHeight <= 0) continue; // image failed to load
+
+            // The standard VolatileImage loop: redraw if the contents were lost while blitting
+            do {
+                VolatileImage tile = validate(i, gc, source, width, tileHeight);
+                if (!layer.isTiled()) {
+                    g.drawImage(tile, 0, 0, null);
+                    continue;
+                }
+                // The world's y axis points up, so climbing moves the layer down the screen
+                int scroll = Math.floorMod(Math.round(cameraY * pixelsPerUnit * layer.getScrollFactor()), tileHeight);
+                for (int y = scroll - tileHeight; y < height; y += tileHeight) {
+                    g.drawImage(tile, 0, y, null);
+                }
+            } while (tiles[i].contentsLost());
+        }
+    }
+
+    /**
+     * Release the cached images, e.g. when the view is disposed.
+     */
+    public synchronized void flush() {
+        for (VolatileImage tile : tiles) {
+            if (tile != null) tile.flush();
+        }
+        tiles = new VolatileImage[layers.length];
+    }
+
+    /**
+     * @return the height of one copy of a layer on screen, or 0 if its image is not loaded
+     */
+    private static int tileHeight(ParallaxLayer layer, Image source, int width, int height) {
+        if (!layer.isTiled()) return height;
+        int w = source.getWidth(null);
+        int h = source.getHeight(null);
+        if (w <= 0 || h <= 0) return 0;
+        return Math.max(1, Math.round(h * (width / (float) w)));
+    }
+
+    /**
+     * Return the cached image for a layer, creating or re-rendering it if it is missing,
+     * the wrong size, or its contents were lost.
+     */
+    private VolatileImage validate(int i, GraphicsConfiguration gc, Image source, int width, int height) {
+        VolatileImage tile = tiles[i];
+        int state = tile == null ? VolatileImage.IMAGE_INCOMPATIBLE : tile.validate(gc);
+        if (state == VolatileImage.IMAGE_INCOMPATIBLE || tile.getWidth() != width || tile.getHeight() != height) {
+            if (tile != null) tile.flush();
+            // the back layer is opaque; layers in front keep their transparency
+            tile = gc.createCompatibleVolatileImage(width, height, i == 0 ? Transparency.OPAQUE : Transparency.TRANSLUCENT);
+            tiles[i] = tile;
+            state = VolatileImage.IMAGE_RESTORED;
+        }
+        if (state == VolatileImage.IMAGE_RESTORED) {
+            render(tile, source, width, height);
+        }
+        return tile;
+    }
+
+    /**
+     * Scale the source image into a cached image, once.
+     */
+    private static void render(VolatileImage tile, Image source, int width, int height) {
+        Graphics2D g = tile.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Src); // replace, so transparent areas stay transparent
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package game;
+
+import org.jbox2d.common.Vec2;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * A fixed-capacity pool of short-lived bodies such as projectiles and falling spikes.
+ * <p>
+ * Taking a body reuses a parked one when there is one (a hit) and constructs a new one
+ * only while the pool is below capacity (a miss); at capacity nothing is spawned. Every
+ * step the pool retires active bodies whose time-to-live has run out or that have strayed
+ * too far from the player, so a shot that flies past every platform does not live forever.
+ * Retired bodies keep their shape, image and collision listener, and are parked a few
+ * units apart far outside the level so they never touch one another.
+ *
+ * @param <T> the kind of body pooled
+ */
+public class BodyPool<T extends PooledBody> {
+
+    /** Distance between neighbouring parking spots. */
+    private static final float PARKING_SPACING = 2f;
+
+    private final Supplier<T> factory;
+    private final int capacity;
+    private final int ttl;
+    private final Vec2 parking;
+
+    private final PooledBody[] active;
+    private int activeCount = 0;
+    private final PooledBody[] free;
+    private int freeCount = 0;
+    private int created = 0;
+
+    // Counters read by the diagnostics overlay
+    private long hits;
+    private long misses;
+    private long rejected;
+    private long expired;
+    private long despawned;
+
+    /**
+     * @param factory  constructs a new body when no parked one is available
+     * @param capacity most bodies the pool ever creates
+     * @param ttl      steps a body stays in play before it is retired
+     * @param parking  first parking spot; later spots follow along the x-axis
+     */
+    public BodyPool(Supplier<T> factory, int capacity, int ttl, Vec2 parking) {
+        this.factory = factory;
+        this.capacity = Math.max(1, capacity);
+        this.ttl = Math.max(1, ttl);
+        this.parking = new Vec2(parking);
+        this.active = new PooledBody[this.capacity];
+        this.free = new PooledBody[this.capacity];
+    }
+
+    /**
+     * Bring a body into play at a position, reusing a parked one if possible.
+     *
+     * @param position where the body appears
+     * @param step     the current step, from which its time-to-live counts
+     * @return the body, at rest, or null if the pool is at capacity
+     */
+    @SuppressWarnings("unchecked")
+    public T acquire(Vec2 position, long step) {
+        PooledBody body;
+        if (freeCount > 0) {
+            body = free[--freeCount];
+            free[freeCount] = null;
+            hits++;
+        } else if (created < capacity) {
+            body = factory.get();
+            body.pool = this;
+            created++;
+            misses++;
+        } else {
+            rejected++;
+            return null;
+        }
+        body.activate(position);
+        body.expires = step + ttl;
+        body.slot = activeCount;
+        active[activeCount++] = body;
+        return (T) body;
+    }
+
+    /**
+     * Park an active body until it is acquired again. Releasing a parked body does nothing.
+     *
+     * @param body a body of this pool
+     */
+    void release(PooledBody body) {
+        if (!body.isActive() || body.pool != this) return;
+        int last = --activeCount;
+        PooledBody moved = active[last];
+        active[body.slot] = moved;
+        moved.slot = body.slot;
+        active[last] = null;
+        body.slot = -1;
+
+        body.park(new Vec2(parking.x + freeCount * PARKING_SPACING, parking.y));
+        free[freeCount++] = body;
+    }
+
+    /**
+     * Retire every active body whose time-to-live has run out or that is farther than
+     * {@code radius} from the player.
+     *
+     * @param step   the current step
+     * @param px     the player's x-coordinate
+     * @param py     the player's y-coordinate
+     * @param radius distance from the player beyond which bodies are off-screen for good
+     */
+    public void update(long step, float px, float py, float radius) {
+        float r2 = radius * radius;
+        // walk backwards so releasing, which moves the last body into the gap, skips nothing
+        for (int i = activeCount - 1; i >= 0; i--) {
+            PooledBody b = active[i];
+            if (b.expires <= step) {
+                expired++;
+                release(b);
+                continue;
+            }
+            Vec2 p = b.getPosition();
+            float dx = p.x - px, dy = p.y - py;
+            if (dx * dx + dy * dy > r2) {
+                despawned++;
+                release(b);
+            }
+        }
+    }
+
+    /**
+     * Forget every body, e.g. once the world that owns them has destroyed them.
+     */
+    public void clear() {
+        Arrays.fill(active, 0, activeCount, null);
+        Arrays.fill(free, 0, freeCount, null);
+        activeCount = 0;
+        freeCount = 0;
+        created = 0;
+    }
+
+    /** @return the number of bodies in play */
+    public int getActiveCount() { return activeCount; }
+
+    /** @return the most bodies the pool creates */
+    public int getCapacity() { return capacity; }
+
+    /** @return acquisitions served by a parked body */
+    public long getHits() { return hits; }
+
+    /** @return acquisitions that had to construct a body */
+    public long getMisses() { return misses; }
+
+    /** @return acquisitions refused because the pool was at capacity */
+    public long getRejected() { return rejected; }
+
+    /** @return bodies retired because their time-to-live ran out */
+    public long getExpired() { return expired; }
+
+    /** @return bodies retired because they strayed too far from the player */
+    public long getDespawned() { return despawned; }
+}
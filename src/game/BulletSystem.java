@@ -0,0 +1,308 @@
+package game;
+
+import city.cs.engine.BodyImage;
+import org.jbox2d.common.Vec2;
+
+import java.util.Arrays;
+
+/**
+ * Enemy shots simulated without physics bodies, for levels that fire far more of them than
+ * the physics engine could carry.
+ * <p>
+ * A bullet is a point with a radius flying in a straight line at constant velocity, stored
+ * in parallel primitive arrays. Each step one loop moves every bullet and tests the segment
+ * it swept against the player's bounds and the terrain, so even a fast bullet cannot pass
+ * through a platform between two steps. A bullet that hits, outlives its time-to-live or
+ * strays too far from the player is dropped by moving the last bullet into its slot. The
+ * renderer draws all bullets in one pass from a {@link Snapshot} taken after each step.
+ */
+public class BulletSystem {
+
+    /** Radius of a bullet, the same as a projectile body's. */
+    public static final float RADIUS = 0.4f;
+    /** Height of a bullet's image in world units. */
+    public static final float IMAGE_SCALE = 0.95f;
+    /** Length of one step in seconds. */
+    private static final float DT = PhysicsLoop.STEP_NANOS / 1e9f;
+
+    /** Tells whether a bullet sweeping a segment hits terrain. */
+    public interface Terrain {
+        /**
+         * @param x0     start x-coordinate
+         * @param y0     start y-coordinate
+         * @param x1     end x-coordinate
+         * @param y1     end y-coordinate
+         * @param radius radius of the bullet
+         * @return true if the segment, widened by the radius, touches terrain
+         */
+        boolean hits(float x0, float y0, float x1, float y1, float radius);
+    }
+
+    private final int capacity;
+    private final int ttl;
+    private final String scope;
+
+    private final float[] x;
+    private final float[] y;
+    private final float[] vx;
+    private final float[] vy;
+    private final long[] expires;
+    private final int[] sprite;
+    private int count = 0;
+
+    // Images bullets are drawn with; a bullet stores an index into these
+    private BodyImage[] images = new BodyImage[4];
+    private String[] imagePaths = new String[4];
+    private int imageCount = 0;
+
+    // Counters read by the diagnostics overlay
+    private long fired;
+    private long rejected;
+    private long playerHits;
+    private long terrainHits;
+    private long expired;
+    private long despawned;
+
+    /**
+     * @param capacity most bullets in flight at once
+     * @param ttl      steps a bullet flies before it is dropped
+     * @param scope    asset scope the bullet images are pinned to, or null
+     */
+    public BulletSystem(int capacity, int ttl, String scope) {
+        this.capacity = Math.max(1, capacity);
+        this.ttl = Math.max(1, ttl);
+        this.scope = scope;
+        x = new float[this.capacity];
+        y = new float[this.capacity];
+        vx = new float[this.capacity];
+        vy = new float[this.capacity];
+        expires = new long[this.capacity];
+        sprite = new int[this.capacity];
+    }
+
+    /**
+     * Fire a bullet. Nothing is fired while the system is at capacity.
+     *
+     * @param position  where the bullet starts
+     * @param velocity  its constant velocity
+     * @param imagePath the path to the image the bullet is drawn with
+     * @param step      the current step, from which its time-to-live counts
+     * @return true if the bullet was fired
+     */
+    public boolean fire(Vec2 position, Vec2 velocity, String imagePath, long step) {
+        if (count == capacity) {
+            rejected++;
+            return false;
+        }
+        int i = count++;
+        x[i] = position.x;
+        y[i] = position.y;
+        vx[i] = velocity.x;
+        vy[i] = velocity.y;
+        expires[i] = step + ttl;
+        sprite[i] = spriteOf(imagePath);
+        fired++;
+        return true;
+    }
+
+    /**
+     * @return the index of an image in the image table, adding it on first use
+     */
+    private int spriteOf(String path) {
+        for (int k = 0; k < imageCount; k++) {
+            if (imagePaths[k].equals(path)) return k;
+        }
+        if (imageCount == images.length) {
+            images = Arrays.copyOf(images, imageCount * 2);
+            imagePaths = Arrays.copyOf(imagePaths, imageCount * 2);
+        }
+        images[imageCount] = Assets.image(scope, path, IMAGE_SCALE);
+        imagePaths[imageCount] = path;
+        return imageCount++;
+    }
+
+    /**
+     * Move every bullet one step and resolve what it hit. A bullet touching the player takes
+     * one health point and is dropped, as is one touching terrain.
+     *
+     * @param step    the current step
+     * @param player  the player
+     * @param terrain the level's terrain
+     * @param radius  distance from the player beyond which bullets are off-screen for good
+     */
+    public void update(long step, Player player, Terrain terrain, float radius) {
+        Vec2 p = player.getPosition();
+        // the player's bounds, widened by the bullet radius
+        float left = p.x + Player.HIT_LEFT - RADIUS, right = p.x + Player.HIT_RIGHT + RADIUS;
+        float bottom = p.y + Player.HIT_BOTTOM - RADIUS, top = p.y + Player.HIT_TOP + RADIUS;
+        float r2 = radius * radius;
+
+        // walk backwards so removing, which moves the last bullet into the gap, skips nothing
+        for (int i = count - 1; i >= 0; i--) {
+            float x0 = x[i], y0 = y[i];
+            float dx = vx[i] * DT, dy = vy[i] * DT;
+            float x1 = x0 + dx, y1 = y0 + dy;
+            x[i] = x1;
+            y[i] = y1;
+
+            if (segmentHitsBox(x0, y0, dx, dy, left, bottom, right, top)) {
+                playerHits++;
+                remove(i);
+                player.decreaseHealth();
+            } else if (terrain.hits(x0, y0, x1, y1, RADIUS)) {
+                terrainHits++;
+                remove(i);
+            } else if (expires[i] <= step) {
+                expired++;
+                remove(i);
+            } else {
+                float ox = x1 - p.x, oy = y1 - p.y;
+                if (ox * ox + oy * oy > r2) {
+                    despawned++;
+                    remove(i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tell whether the segment from (x0, y0) along (dx, dy) touches an axis-aligned box,
+     * by clipping the segment against the box's slabs.
+     *
+     * @return true if some point of the segment lies inside the box
+     */
+    static boolean segmentHitsBox(float x0, float y0, float dx, float dy,
+                                  float minX, float minY, float maxX, float maxY) {
+        float tMin = 0, tMax = 1;
+        if (dx == 0) {
+            if (x0 < minX || x0 > maxX) return false;
+        } else {
+            float t1 = (minX - x0) / dx, t2 = (maxX - x0) / dx;
+            tMin = Math.max(tMin, Math.min(t1, t2));
+            tMax = Math.min(tMax, Math.max(t1, t2));
+        }
+        if (dy == 0) {
+            if (y0 < minY || y0 > maxY) return false;
+        } else {
+            float t1 = (minY - y0) / dy, t2 = (maxY - y0) / dy;
+            tMin = Math.max(tMin, Math.min(t1, t2));
+            tMax = Math.min(tMax, Math.max(t1, t2));
+        }
+        return tMin <= tMax;
+    }
+
+    private void remove(int i) {
+        int last = --count;
+        x[i] = x[last];
+        y[i] = y[last];
+        vx[i] = vx[last];
+        vy[i] = vy[last];
+        expires[i] = expires[last];
+        sprite[i] = sprite[last];
+    }
+
+    /**
+     * Drop every bullet.
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Copy the bullets in flight for the renderer, reusing an older copy's arrays. Must be
+     * called on the thread stepping the world, between steps, and only with a copy nobody
+     * is reading any more.
+     *
+     * @param recycled a copy to overwrite, or null or {@link Snapshot#EMPTY} to allocate one
+     * @return the copy, {@code recycled} if it could be reused
+     */
+    public Snapshot snapshot(Snapshot recycled) {
+        Snapshot s = recycled != null && recycled != Snapshot.EMPTY ? recycled : new Snapshot();
+        if (s.x.length < count) {
+            int n = Math.min(capacity, Math.max(count, s.x.length * 2));
+            s.x = new float[n];
+            s.y = new float[n];
+            s.vx = new float[n];
+            s.vy = new float[n];
+            s.sprite = new int[n];
+        }
+        System.arraycopy(x, 0, s.x, 0, count);
+        System.arraycopy(y, 0, s.y, 0, count);
+        System.arraycopy(vx, 0, s.vx, 0, count);
+        System.arraycopy(vy, 0, s.vy, 0, count);
+        System.arraycopy(sprite, 0, s.sprite, 0, count);
+        s.size = count;
+        // the image table only ever grows, so a copy of the same length holds the same images
+        if (s.images.length != imageCount) {
+            s.images = Arrays.copyOf(images, imageCount);
+        }
+        return s;
+    }
+
+    /** A copy of the bullets in flight after one step. */
+    public static final class Snapshot {
+
+        /** A snapshot without bullets, never overwritten. */
+        public static final Snapshot EMPTY = new Snapshot();
+
+        private float[] x = new float[0];
+        private float[] y = new float[0];
+        private float[] vx = new float[0];
+        private float[] vy = new float[0];
+        private int[] sprite = new int[0];
+        private BodyImage[] images = new BodyImage[0];
+        private int size = 0;
+
+        private Snapshot() { }
+
+        /** @return number of bullets */
+        public int size() { return size; }
+
+        /**
+         * Bullets fly in straight lines, so their position between this step and the one
+         * before is found from their velocity alone.
+         *
+         * @param i     index of a bullet
+         * @param alpha how far from the previous step to this one, between 0 and 1
+         * @return the bullet's x-coordinate at that point
+         */
+        public float x(int i, float alpha) { return x[i] - vx[i] * DT * (1 - alpha); }
+
+        /**
+         * @param i     index of a bullet
+         * @param alpha how far from the previous step to this one, between 0 and 1
+         * @return the bullet's y-coordinate at that point
+         */
+        public float y(int i, float alpha) { return y[i] - vy[i] * DT * (1 - alpha); }
+
+        /** @return index of the image bullet {@code i} is drawn with */
+        public int sprite(int i) { return sprite[i]; }
+
+        /** @return the images bullets are drawn with, by index; must not be modified */
+        public BodyImage[] images() { return images; }
+    }
+
+    /** @return the number of bullets in flight */
+    public int size() { return count; }
+
+    /** @return the most bullets in flight at once */
+    public int getCapacity() { return capacity; }
+
+    /** @return bullets fired so far */
+    public long getFired() { return fired; }
+
+    /** @return bullets not fired because the system was at capacity */
+    public long getRejected() { return rejected; }
+
+    /** @return bullets that hit the player */
+    public long getPlayerHits() { return playerHits; }
+
+    /** @return bullets that hit terrain */
+    public long getTerrainHits() { return terrainHits; }
+
+    /** @return bullets dropped because their time-to-live ran out */
+    public long getExpired() { return expired; }
+
+    /** @return bullets dropped because they strayed too far from the player */
+    public long getDespawned() { return despawned; }
+}
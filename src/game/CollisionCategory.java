@@ -0,0 +1,66 @@
+package game;
+
+import city.cs.engine.Body;
+
+/**
+ * Collision categories of the game's bodies, each with a category bit and a mask of the
+ * categories it wants contacts with.
+ * <p>
+ * A contact matters only if each body's mask includes the other's category, the same rule
+ * Box2D applies to fixture filters. Bodies that do not declare a category (platforms, walls,
+ * ground) are {@link #TERRAIN}.
+ */
+public enum CollisionCategory {
+    PLAYER, ENEMY, PROJECTILE, HAZARD, COLLECTIBLE, TERRAIN;
+
+    private static final int[] MASKS = new int[values().length];
+
+    static {
+        mask(PLAYER, ENEMY, PROJECTILE, HAZARD, COLLECTIBLE, TERRAIN);
+        // enemies only touch the player and the ground they stand on; shots and spikes pass them
+        mask(ENEMY, PLAYER, TERRAIN);
+        // shots and falling spikes break on anything solid other than enemies
+        mask(PROJECTILE, PLAYER, PROJECTILE, HAZARD, COLLECTIBLE, TERRAIN);
+        mask(HAZARD, PLAYER, PROJECTILE, HAZARD, COLLECTIBLE, TERRAIN);
+        mask(COLLECTIBLE, PLAYER, PROJECTILE, HAZARD);
+        mask(TERRAIN, PLAYER, ENEMY, PROJECTILE, HAZARD);
+    }
+
+    private static void mask(CollisionCategory category, CollisionCategory... others) {
+        for (CollisionCategory c : others) {
+            MASKS[category.ordinal()] |= c.bit();
+        }
+    }
+
+    /** @return this category's bit */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /** @return bits of the categories this category wants contacts with */
+    public int mask() {
+        return MASKS[ordinal()];
+    }
+
+    /**
+     * @param other category of the other body in a contact
+     * @return true if a contact between the two categories matters to either of them
+     */
+    public boolean accepts(CollisionCategory other) {
+        return (mask() & other.bit()) != 0 && (other.mask() & bit()) != 0;
+    }
+
+    /**
+     * @param body any body
+     * @return the category the body declares, or {@link #TERRAIN} if it declares none
+     */
+    public static CollisionCategory of(Body body) {
+        return body instanceof Categorized ? ((Categorized) body).getCategory() : TERRAIN;
+    }
+
+    /** A body that declares its collision category. */
+    public interface Categorized {
+        /** @return the body's collision category */
+        CollisionCategory getCategory();
+    }
+}
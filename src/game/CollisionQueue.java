@@ -0,0 +1,160 @@
+package game;
+
+import city.cs.engine.Body;
+import city.cs.engine.StepEvent;
+import city.cs.engine.StepListener;
+import city.cs.engine.World;
+
+import java.util.Arrays;
+
+/**
+ * Holds a world's collision reactions until the step is over, then runs them in one batch.
+ * <p>
+ * Collision callbacks fire while the physics engine is solving the step, where destroying
+ * a body or starting a level change would re-enter it. {@link CollisionTable} therefore
+ * only records each accepted contact here; after the step the batch runs its handlers in
+ * order. A pair reported more than once in a step (e.g. by two fixtures) is handled once,
+ * handlers skip bodies an earlier handler removed, and every removal requested through
+ * {@link #removeLater(Body)} is carried out once, after the whole batch. Removing a pooled
+ * body returns it to its pool; any other body is destroyed.
+ */
+public class CollisionQueue implements StepListener {
+
+    private Body[] self = new Body[32];
+    private Body[] other = new Body[32];
+    private CollisionTable.Handler[] handler = new CollisionTable.Handler[32];
+    private int count = 0;
+
+    private Body[] removed = new Body[16];
+    private int removedCount = 0;
+    private boolean processing = false;
+
+    // Counters read by the diagnostics overlay
+    private long handled;
+    private long duplicates;
+
+    /**
+     * Create the queue and register it with a world.
+     *
+     * @param world the world whose collisions are queued
+     */
+    public CollisionQueue(GameWorld world) {
+        world.addStepListener("collisions", this);
+    }
+
+    /**
+     * Queue a contact's handler, unless the same pair was already queued this step.
+     *
+     * @param s the reporting body
+     * @param o the body it touched
+     * @param h the handler for their categories
+     */
+    void add(Body s, Body o, CollisionTable.Handler h) {
+        for (int i = 0; i < count; i++) {
+            if (self[i] == s && other[i] == o) {
+                duplicates++;
+                return;
+            }
+        }
+        if (count == self.length) {
+            int n = count * 2;
+            self = Arrays.copyOf(self, n);
+            other = Arrays.copyOf(other, n);
+            handler = Arrays.copyOf(handler, n);
+        }
+        self[count] = s;
+        other[count] = o;
+        handler[count] = h;
+        count++;
+    }
+
+    /**
+     * Remove a body at the end of the current batch, or at once if no batch is running.
+     *
+     * @param body the body to remove
+     */
+    public void remove(Body body) {
+        if (!processing) {
+            retire(body);
+            return;
+        }
+        if (isRemoved(body)) return;
+        if (removedCount == removed.length) {
+            removed = Arrays.copyOf(removed, removedCount * 2);
+        }
+        removed[removedCount++] = body;
+    }
+
+    /**
+     * Remove a body from a collision handler, through its world's queue when it has one.
+     *
+     * @param body the body to remove
+     */
+    public static void removeLater(Body body) {
+        World world = body.getWorld();
+        if (world instanceof GameWorld) {
+            ((GameWorld) world).getCollisions().remove(body);
+        } else {
+            retire(body);
+        }
+    }
+
+    /**
+     * Return a pooled body to its pool, or destroy any other body.
+     */
+    private static void retire(Body body) {
+        if (body instanceof PooledBody) {
+            ((PooledBody) body).retire();
+        } else {
+            body.destroy();
+        }
+    }
+
+    private boolean isRemoved(Body body) {
+        for (int i = 0; i < removedCount; i++) {
+            if (removed[i] == body) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void preStep(StepEvent e) { }
+
+    /**
+     * Run the step's queued handlers, then remove every body they asked to remove.
+     */
+    @Override
+    public void postStep(StepEvent e) {
+        if (count == 0) return;
+        processing = true;
+        for (int i = 0; i < count; i++) {
+            if (!isRemoved(self[i]) && !isRemoved(other[i])) {
+                handler[i].handle(self[i], other[i]);
+                handled++;
+            }
+        }
+        processing = false;
+        for (int i = 0; i < removedCount; i++) {
+            retire(removed[i]);
+        }
+        clear();
+    }
+
+    /**
+     * Drop everything queued, e.g. when the world is disposed.
+     */
+    public void clear() {
+        Arrays.fill(self, 0, count, null);
+        Arrays.fill(other, 0, count, null);
+        Arrays.fill(handler, 0, count, null);
+        Arrays.fill(removed, 0, removedCount, null);
+        count = 0;
+        removedCount = 0;
+    }
+
+    /** @return the number of contacts handled so far */
+    public long getHandled() { return handled; }
+
+    /** @return the number of repeated contacts of a pair dropped within a step */
+    public long getDuplicates() { return duplicates; }
+}
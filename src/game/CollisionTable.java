@@ -0,0 +1,121 @@
+package game;
+
+import city.cs.engine.Body;
+import city.cs.engine.CollisionEvent;
+import city.cs.engine.CollisionListener;
+import city.cs.engine.World;
+
+import static game.CollisionCategory.*;
+
+/**
+ * Dispatches collisions through a table indexed by the categories of the two bodies,
+ * instead of each body testing the other with a chain of {@code instanceof} checks.
+ * <p>
+ * A body that reacts to contacts registers the shared listener with {@link #listen(Body)}.
+ * When it reports a contact, pairs its {@link CollisionCategory} masks reject are dropped
+ * first, as are contacts with pooled bodies parked out of play; otherwise the handler for
+ * (reporting category, other category) is queued on the world's {@link CollisionQueue} and
+ * runs once the step is over.
+ */
+public final class CollisionTable {
+
+    /** Reaction of a reporting body to a contact with another body. */
+    public interface Handler {
+        /**
+         * @param self  the body reporting the contact
+         * @param other the body it touched
+         */
+        void handle(Body self, Body other);
+    }
+
+    private static final int N = CollisionCategory.values().length;
+    private static final Handler[] handlers = new Handler[N * N];
+    private static final boolean[] accepted = new boolean[N * N];
+
+    private static final CollisionListener DISPATCH = CollisionTable::dispatch;
+
+    static {
+        for (CollisionCategory a : CollisionCategory.values()) {
+            for (CollisionCategory b : CollisionCategory.values()) {
+                accepted[a.ordinal() * N + b.ordinal()] = a.accepts(b);
+            }
+        }
+
+        on(PLAYER, COLLECTIBLE, (self, other) -> ((Player) self).collectStar((Star) other));
+
+        // shots, spikes and patrol enemies hurt the player; shots and spikes break on anything else
+        for (CollisionCategory hazard : new CollisionCategory[] {PROJECTILE, HAZARD, ENEMY}) {
+            on(hazard, PLAYER, (self, other) -> ((Hazard) self).hitPlayer((Player) other));
+        }
+        for (CollisionCategory hazard : new CollisionCategory[] {PROJECTILE, HAZARD}) {
+            for (CollisionCategory solid : new CollisionCategory[] {PROJECTILE, HAZARD, COLLECTIBLE, TERRAIN}) {
+                on(hazard, solid, (self, other) -> ((Hazard) self).hitSolid());
+            }
+        }
+    }
+
+    private CollisionTable() { }
+
+    /**
+     * Register the handler for contacts reported by bodies of one category with bodies of another.
+     */
+    private static void on(CollisionCategory self, CollisionCategory other, Handler handler) {
+        handlers[self.ordinal() * N + other.ordinal()] = handler;
+    }
+
+    /**
+     * Have a body report its contacts through the table, timed by its world's profiler.
+     * Only bodies with handlers for their own category need to listen.
+     *
+     * @param body the body
+     */
+    public static void listen(Body body) {
+        body.addCollisionListener(Profiler.timed(body.getWorld(), DISPATCH));
+    }
+
+    /**
+     * @param a category of one body
+     * @param b category of the other
+     * @return true if contacts between the two categories are handled rather than filtered out
+     */
+    public static boolean accepts(CollisionCategory a, CollisionCategory b) {
+        return accepted[a.ordinal() * N + b.ordinal()];
+    }
+
+    /**
+     * @param body a body
+     * @return true if it is a pooled body waiting out of play, whose contacts mean nothing
+     */
+    private static boolean isParked(Body body) {
+        return body instanceof PooledBody && !((PooledBody) body).isActive();
+    }
+
+    /**
+     * Filter a reported contact by category and queue its handler. Outside a {@link GameWorld}
+     * there is no queue, and the handler runs at once.
+     *
+     * @param e the collision
+     */
+    private static void dispatch(CollisionEvent e) {
+        dispatch(e.getReportingBody(), e.getOtherBody());
+    }
+
+    /**
+     * Filter a contact between two bodies by category and queue its handler.
+     *
+     * @param self  the body reporting the contact
+     * @param other the body it touched
+     */
+    static void dispatch(Body self, Body other) {
+        int key = CollisionCategory.of(self).ordinal() * N + CollisionCategory.of(other).ordinal();
+        if (!accepted[key] || isParked(self) || isParked(other)) return;
+        Handler h = handlers[key];
+        if (h == null) return;
+        World world = self.getWorld();
+        if (world instanceof GameWorld) {
+            ((GameWorld) world).getCollisions().add(self, other, h);
+        } else {
+            h.handle(self, other);
+        }
+    }
+}
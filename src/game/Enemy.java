@@ -10,22 +10,16 @@ package game;
 
 import city.cs.engine.*;
 import org.jbox2d.common.Vec2;
-import java.util.Timer;
-import java.util.TimerTask;
 
-public class Enemy extends StaticBody {
+public class Enemy extends StaticBody implements CollisionCategory.Categorized, SpriteAnimator.Animated {
 
     /** Shape used for all enemy bodies. */
     private static final Shape ENEMY_SHAPE = new BoxShape(1, 1);
 
-    /** Animation frames for this enemy. */
-    private final BodyImage[] sprites;
-    /** Index of the current sprite in the animation cycle. */
-    private int spriteIndex = 0;
-    /** AttachedImage instance representing the currently displayed sprite. */
-    private AttachedImage currentImage;
+    /** Cycles through this enemy's animation frames. */
+    private final SpriteAnimator animator;
     /** Reference to the game world this enemy belongs to. */
-    private final World world;
+    private final GameWorld world;
     /** Reference to the player, used for aiming projectiles. */
     private final Player player;
     /** Image path for the projectile this enemy fires. */
@@ -34,44 +28,34 @@ public class Enemy extends StaticBody {
     /**
      * Construct a new Enemy.
      *
-     * @param world                  the physics world to which this enemy belongs
+     * @param world                  the game world to which this enemy belongs
      * @param position               the initial position of the enemy
      * @param player                 the player that the enemy will target
      * @param sprites                array of BodyImage frames for the enemy animation
      * @param projectileImagePath    file path of the image used for fired projectiles
      */
-    public Enemy(World world, Vec2 position, Player player, BodyImage[] sprites, String projectileImagePath) {
+    public Enemy(GameWorld world, Vec2 position, Player player, BodyImage[] sprites, String projectileImagePath) {
         super(world, ENEMY_SHAPE);
         this.world = world;
         this.player = player;
-        this.sprites = sprites.clone(); // avoid external mutation
         this.projectileImagePath = projectileImagePath;
 
-        // Set initial position and image
+        // Set initial position and image; the animator copies the frames
         setPosition(position);
-        currentImage = addImage(sprites[spriteIndex]);
+        animator = new SpriteAnimator(this, 1, sprites[0]).define(0, 250, sprites, sprites);
 
         // Begin cycling through animation frames
-        startAnimation();
+        world.getAnimations().register(this, animator);
     }
 
     /**
-     * Begin the sprite animation loop, cycling every 250ms.
+     * @return the animator cycling this enemy's sprites
      */
-    private void startAnimation() {
-        Timer timer = new Timer(true);
-        timer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                // Remove the old sprite
-                removeAttachedImage(currentImage);
-                // Advance to next frame
-                spriteIndex = (spriteIndex + 1) % sprites.length;
-                // Attach the new sprite
-                currentImage = addImage(sprites[spriteIndex]);
-            }
-        }, 0, 250);
-    }
+    @Override
+    public SpriteAnimator getAnimator() { return animator; }
+
+    @Override
+    public CollisionCategory getCategory() { return CollisionCategory.ENEMY; }
 
     /**
      * Fire a projectile towards the player, if both world and player exist.
@@ -89,6 +73,6 @@ public class Enemy extends StaticBody {
         direction.mulLocal(15f); // set projectile speed
 
         // Spawn the projectile slightly offset from enemy position
-        new Projectile(getWorld(), enemyPos.add(new Vec2(1, 1)), direction, projectileImagePath);
+        world.fireProjectile(enemyPos.add(new Vec2(1, 1)), direction, projectileImagePath);
     }
 }
@@ -0,0 +1,123 @@
+package game;
+
+import city.cs.engine.Body;
+import city.cs.engine.StepEvent;
+import city.cs.engine.StepListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * One step listener that runs the per-step update of every live entity in a world.
+ * <p>
+ * Entities subscribe here instead of adding their own {@link StepListener} to the world.
+ * A subscription owned by a body is cancelled automatically when that body is destroyed,
+ * and one-shot tasks cancel themselves once done, so the per-step cost only covers
+ * entities that are still alive. Cancelled subscriptions are dropped on the next step.
+ */
+public class EntityUpdates implements StepListener {
+
+    private final List<Subscription> subscriptions = new ArrayList<>();
+
+    /** A registered update that can be cancelled. */
+    public static final class Subscription {
+        private final BooleanSupplier update;
+        private boolean cancelled;
+
+        private Subscription(BooleanSupplier update) {
+            this.update = update;
+        }
+
+        /** Stop running the update; it is removed from the world on the next step. */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        /** @return true once cancelled, either explicitly or by its owner being destroyed */
+        public boolean isCancelled() { return cancelled; }
+    }
+
+    /**
+     * Create the dispatcher and register it with a world.
+     *
+     * @param world the world whose steps drive the updates
+     */
+    public EntityUpdates(GameWorld world) {
+        world.addStepListener("entity updates", this);
+    }
+
+    /**
+     * Run an update every step for as long as its owner lives.
+     *
+     * @param owner  the body the update belongs to; destroying it cancels the subscription
+     * @param update the per-step update
+     * @return the subscription
+     */
+    public Subscription subscribe(Body owner, Runnable update) {
+        Subscription s = add(() -> {
+            update.run();
+            return false;
+        });
+        owner.addDestructionListener(e -> s.cancel());
+        return s;
+    }
+
+    /**
+     * Run a task every step until it reports that it is done, e.g. waiting for a condition.
+     *
+     * @param task returns true once it no longer needs to run
+     * @return the subscription
+     */
+    public Subscription runUntil(BooleanSupplier task) {
+        return add(task);
+    }
+
+    /** @return the number of subscriptions still registered */
+    public int size() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Cancel every subscription, e.g. when the world is disposed.
+     */
+    public void clear() {
+        for (Subscription s : subscriptions) {
+            s.cancel();
+        }
+        subscriptions.clear();
+    }
+
+    private Subscription add(BooleanSupplier update) {
+        Subscription s = new Subscription(update);
+        subscriptions.add(s);
+        return s;
+    }
+
+    /**
+     * Run every live update, compacting out cancelled subscriptions in the same pass.
+     * Subscriptions added during the pass first run on the next step.
+     */
+    @Override
+    public void preStep(StepEvent e) {
+        int n = subscriptions.size();
+        int kept = 0;
+        for (int i = 0; i < n; i++) {
+            Subscription s = subscriptions.get(i);
+            if (!s.cancelled && s.update.getAsBoolean()) {
+                s.cancelled = true;
+            }
+            if (!s.cancelled) {
+                subscriptions.set(kept++, s);
+            }
+        }
+        // keep anything subscribed while the pass ran, then trim the tail
+        for (int i = n; i < subscriptions.size(); i++) {
+            subscriptions.set(kept++, subscriptions.get(i));
+        }
+        subscriptions.subList(kept, subscriptions.size()).clear();
+    }
+
+    @Override
+    public void postStep(StepEvent e) { }
+}
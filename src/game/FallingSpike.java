@@ -1,11 +1,7 @@
 package game;
 
-import city.cs.engine.CollisionEvent;
-import city.cs.engine.CollisionListener;
-import city.cs.engine.DynamicBody;
 import city.cs.engine.PolygonShape;
 import city.cs.engine.Shape;
-import city.cs.engine.BodyImage;
 import city.cs.engine.World;
 import org.jbox2d.common.Vec2;
 
@@ -13,13 +9,19 @@ import org.jbox2d.common.Vec2;
  * A spike that falls from above and damages the player on contact.
  * <p>
  * When it collides with the player, it deals damage and plays a sound,
- * then destroys itself. It also destroys itself on any other collision
- * except with Enemy bodies.
+ * then breaks. It also breaks on any other collision its category accepts,
+ * which excludes enemies. The world drops its spikes from a {@link BodyPool},
+ * so a broken spike is parked and dropped again rather than destroyed.
  */
-public class FallingSpike extends DynamicBody implements CollisionListener {
+public class FallingSpike extends PooledBody implements Hazard {
 
-    /** Global sound file path for spike destruction. */
-    public static String FALLING_SOUND;
+    /** Most spikes a world keeps in play at once. */
+    public static final int POOL_CAPACITY = 16;
+    /** Steps a spike falls before it is retired, ten seconds at 60 steps per second. */
+    public static final int TTL_STEPS = 600;
+
+    /** Sound played when the spike breaks, or null for none. */
+    private String sound;
 
     /** The shape of the spike. */
     private static final Shape SPIKE_SHAPE = new PolygonShape(
@@ -29,43 +31,78 @@ public class FallingSpike extends DynamicBody implements CollisionListener {
     );
 
     /**
-     * Create a falling spike at the given position using the specified image.
+     * Create a silent falling spike at the given position using the specified image.
      *
      * @param world         the physics world
      * @param spawnPosition where to spawn the spike
      * @param imagePath     path to the spike's image file
      */
     public FallingSpike(World world, Vec2 spawnPosition, String imagePath) {
+        this(world, spawnPosition, imagePath, null);
+    }
+
+    /**
+     * Create a falling spike at the given position using the specified image and breaking sound.
+     *
+     * @param world         the physics world
+     * @param spawnPosition where to spawn the spike
+     * @param imagePath     path to the spike's image file
+     * @param sound         path to the sound played when it breaks, or null
+     */
+    public FallingSpike(World world, Vec2 spawnPosition, String imagePath, String sound) {
+        this(world);
+        setPosition(spawnPosition);
+        drop(imagePath, sound);
+    }
+
+    /**
+     * Create a spike for a pool, to be dropped once acquired.
+     *
+     * @param world the physics world
+     */
+    FallingSpike(World world) {
         super(world, SPIKE_SHAPE);
 
+        // Listen for collisions to apply damage
+        CollisionTable.listen(this);
+    }
+
+    /**
+     * Let the spike fall from where it is.
+     *
+     * @param imagePath path to the spike's image file
+     * @param sound     path to the sound played when it breaks, or null
+     */
+    public void drop(String imagePath, String sound) {
+        this.sound = sound;
+
         // Attach the visual representation
-        addImage(new BodyImage(imagePath, 1.5f));
-        setPosition(spawnPosition);
+        setImage(imagePath, 1.5f);
 
         // Make the spike fall slowly
         setGravityScale(0.5f);
-
-        // Listen for collisions to apply damage
-        addCollisionListener(this);
     }
 
+    @Override
+    public CollisionCategory getCategory() { return CollisionCategory.HAZARD; }
+
     /**
-     * Handle collisions: damage player or destroy on other impacts.
+     * Damage the player, then break.
      *
-     * @param e collision event
+     * @param player the player that was hit
+     */
+    @Override
+    public void hitPlayer(Player player) {
+        player.decreaseHealth();
+        hitSolid();
+    }
+
+    /**
+     * Break on the ground, a platform or another solid body.
      */
     @Override
-    public void collide(CollisionEvent e) {
-        if (e.getOtherBody() instanceof Player) {
-            // Damage the player
-            ((Player) e.getOtherBody()).decreaseHealth();
-            // Play destruction sound
-            Sound.playSound(FALLING_SOUND);
-            destroy();
-        } else if (!(e.getOtherBody() instanceof Enemy)) {
-            // Destroy on ground or platform
-            Sound.playSound(FALLING_SOUND);
-            destroy();
-        }
+    public void hitSolid() {
+        Sound.playSound(sound, getPosition());
+        CollisionQueue.removeLater(this);
     }
 }
@@ -0,0 +1,168 @@
+package game;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spreads enemy fire over time instead of letting every enemy shoot on the same step.
+ * <p>
+ * Each enemy gets a phase within the fire period when it is added. Phases come from a
+ * golden-ratio sequence, so they stay evenly spread however many enemies arrive and in what
+ * order. Every step the caller hands over the bodies near the player, and only those are
+ * checked: the due ones fire, up to a per-step cap, and due enemies over the cap wait for the
+ * next step. An enemy coming back into range skips the volleys it missed while away. A level
+ * can have each enemy fire a short burst instead of a single shot. State lives in parallel
+ * primitive arrays, so a step allocates nothing beyond the projectiles themselves.
+ */
+public class FireScheduler {
+
+    /** Fractional part of the golden ratio; successive multiples of it never bunch up. */
+    private static final double GOLDEN = 0.6180339887498949;
+
+    private final int period;
+    private final int maxPerStep;
+    private final int burstCount;
+    private final int burstGap;
+
+    private Enemy[] enemies = new Enemy[16];
+    private int[] phase = new int[16];
+    private long[] due = new long[16];
+    private int[] burstLeft = new int[16];
+    private long[] seen = new long[16];
+    private int count = 0;
+
+    // Slot of each scheduled enemy in the arrays above
+    private final Map<Object, Integer> slots = new IdentityHashMap<>();
+
+    private double nextPhase = 0;
+    private long shots;
+    private long deferred;
+
+    /**
+     * @param period     steps between an enemy's volleys
+     * @param maxPerStep most projectiles spawned in one step
+     * @param burstCount shots in each volley
+     * @param burstGap   steps between the shots of a volley
+     */
+    public FireScheduler(int period, int maxPerStep, int burstCount, int burstGap) {
+        this.period = Math.max(1, period);
+        this.maxPerStep = Math.max(1, maxPerStep);
+        this.burstCount = Math.max(1, burstCount);
+        this.burstGap = Math.max(1, burstGap);
+    }
+
+    /**
+     * Start scheduling an enemy's fire.
+     *
+     * @param enemy the enemy
+     * @param step  the current step
+     */
+    public void add(Enemy enemy, long step) {
+        if (count == enemies.length) {
+            int n = count * 2;
+            enemies = Arrays.copyOf(enemies, n);
+            phase = Arrays.copyOf(phase, n);
+            due = Arrays.copyOf(due, n);
+            burstLeft = Arrays.copyOf(burstLeft, n);
+            seen = Arrays.copyOf(seen, n);
+        }
+        enemies[count] = enemy;
+        phase[count] = (int) (nextPhase * period);
+        due[count] = nextVolley(step, phase[count]);
+        burstLeft[count] = burstCount;
+        seen[count] = step;
+        slots.put(enemy, count);
+        count++;
+        nextPhase = (nextPhase + GOLDEN) % 1.0;
+    }
+
+    /**
+     * Stop scheduling an enemy's fire.
+     *
+     * @param enemy the enemy to remove
+     * @return true if it was scheduled
+     */
+    public boolean remove(Object enemy) {
+        Integer slot = slots.remove(enemy);
+        if (slot == null) return false;
+        int i = slot, last = --count;
+        if (i != last) {
+            enemies[i] = enemies[last];
+            phase[i] = phase[last];
+            due[i] = due[last];
+            burstLeft[i] = burstLeft[last];
+            seen[i] = seen[last];
+            slots.put(enemies[i], i);
+        }
+        enemies[last] = null;
+        return true;
+    }
+
+    /**
+     * Fire the enemies near the player that are due this step, up to the per-step cap.
+     * Enemies not in the list are not looked at; bodies in the list that are not scheduled
+     * enemies are ignored.
+     *
+     * @param step   the current step
+     * @param nearby the bodies within firing range of the player, e.g. from a spatial query
+     * @return the number of projectiles spawned
+     */
+    public int update(long step, List<?> nearby) {
+        int fired = 0;
+        for (int k = 0; k < nearby.size(); k++) {
+            Integer slot = slots.get(nearby.get(k));
+            if (slot == null) continue;
+            int i = slot;
+
+            if (seen[i] < step - 1 && due[i] < step) {
+                // out of range when this volley was due, so it is skipped
+                burstLeft[i] = burstCount;
+                due[i] = nextVolley(step - 1, phase[i]);
+            }
+            seen[i] = step;
+            if (due[i] > step) continue;
+            if (fired == maxPerStep) {
+                deferred++; // still due, so it fires on a following step
+                continue;
+            }
+
+            enemies[i].shootProjectile();
+            fired++;
+            if (--burstLeft[i] > 0) {
+                due[i] = step + burstGap;
+            } else {
+                burstLeft[i] = burstCount;
+                due[i] = nextVolley(step, phase[i]);
+            }
+        }
+        shots += fired;
+        return fired;
+    }
+
+    /**
+     * @return the first step after {@code step} that falls on the given phase
+     */
+    private long nextVolley(long step, int phase) {
+        return step + 1 + Math.floorMod(phase - (step + 1), (long) period);
+    }
+
+    /**
+     * Stop scheduling every enemy.
+     */
+    public void clear() {
+        Arrays.fill(enemies, 0, count, null);
+        slots.clear();
+        count = 0;
+    }
+
+    /** @return the number of enemies scheduled */
+    public int size() { return count; }
+
+    /** @return projectiles spawned so far */
+    public long getShots() { return shots; }
+
+    /** @return times a due enemy had to wait a step because of the per-step cap */
+    public long getDeferred() { return deferred; }
+}
@@ -1,50 +1,92 @@
 package game;
 
-import javax.sound.sampled.Clip;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.KeyListener;
+import java.util.Random;
 
 /**
  * The main entry point and controller for Wallace’s Adventure.
  * Manages levels, GUI, health & score displays, background music, and transitions.
  */
-public class Game {
+public class Game implements GameHost {
 
     /** Label showing the player’s health as an icon. */
     private JLabel healthLabel;
     /** Main application window. */
     private JFrame frame;
-    /** The current game world (level). */
-    private GameWorld game;
+    /** The current game world (level); read by the physics thread through {@link #getWorld()}. */
+    private volatile GameWorld game;
     /** Label displaying the star‐collection score. */
     private JLabel scoreLabel;
-    /** Clip for background music playback. */
-    private Clip backgroundClip;
     /** View into the physics world, handles rendering & camera. */
     private GameView view;
+    /** Steps the current world at a fixed rate on its own thread. */
+    private PhysicsLoop physics;
     /** Tracks which level the player is on (1,2,3…). */
     private int currentLevel = 1;
+    /** Seed every level's world is generated from. */
+    private final long seed;
+    /** Log the player's input is recorded to, or null. */
+    private final InputRecorder recorder;
+    /** Log the player's input is replayed from instead of the keyboard, or null. */
+    private final InputReplay replay;
+    /** Builds the next level in the background while the current one is played. */
+    private final LevelPreloader preloader = new LevelPreloader(this::buildLevel);
+    /** Time the last level switch held up play, in nanoseconds. */
+    private long lastTransitionNanos;
+    /** Set once an end screen is shown, so later callbacks from the last step are ignored. */
+    private boolean ended;
+
+    /** Length of the music crossfade between levels. */
+    private static final int MUSIC_CROSSFADE_MS = 1500;
+
+    /** How long each soak cycle plays a level before moving on. */
+    private static final int SOAK_PLAY_MS = 500;
+
+    /** HUD images shared by every level. */
+    private static final String[] HUD_ASSETS = {
+            "data/health1.png", "data/health2.png", "data/health3.png", "data/health4.png"
+    };
 
     /**
      * Create and initialize a new Game, set up level 1, GUI, controls, and start simulation.
      */
     public Game() {
+        this(System.nanoTime(), null, null);
+    }
+
+    /**
+     * Create a game whose levels are generated from a fixed seed, optionally recording
+     * the player's input or replaying it from a log.
+     *
+     * @param seed     seed every level's world is generated from
+     * @param recorder log to record input to, or null
+     * @param replay   log to replay input from instead of the keyboard, or null
+     */
+    public Game(long seed, InputRecorder recorder, InputReplay replay) {
+        this.seed = seed;
+        this.recorder = recorder;
+        this.replay = replay;
+
+        // decode sound effects before play starts, so the first pickup does not hitch
+        SoundMixer.get();
 
-        // create level 1 world
-        game = new GameWorld(this, "data/ground.png", "data/ground.png", false, false);
+        // decode shared images, then level 1's while building its world
+        Assets.preload(Assets.GLOBAL_SCOPE, HUD_ASSETS);
+        game = buildLevel(currentLevel);
+        LevelSpec spec = game.getSpec();
 
         Player player = game.getPlayer();
 
         // set up view
-        view = new GameView(game, 500, 500, player, "data/background1.png");
+        view = new GameView(game, 500, 500, player, spec.getBackground());
+        view.setBackgroundLayers(spec.getBackgroundLayers());
         view.setLayout(null);
 
         // add keyboard controls
-        PlayerController controller = new PlayerController(player);
-        view.addKeyListener(controller);
+        attachControls(player);
         view.setFocusable(true);
-        view.requestFocusInWindow();
 
         // build frame
         frame = new JFrame("Wallace's Adventure");
@@ -52,7 +94,7 @@ public class Game {
         frame.add(view, BorderLayout.CENTER);
 
         // health display
-        healthLabel = new JLabel(new ImageIcon("data/health4.png"));
+        healthLabel = new JLabel(Assets.icon("data/health4.png"));
         healthLabel.setBounds(460, 5, 45, 45);
         view.add(healthLabel);
 
@@ -63,7 +105,7 @@ public class Game {
         frame.setVisible(true);
 
         // play level 1 music
-        Sound.playBackgroundMusic("data/background.wav");
+        Sound.playBackgroundMusic(spec.getMusic());
 
         // score display
         scoreLabel = new JLabel("Stars: 0");
@@ -71,50 +113,138 @@ public class Game {
         scoreLabel.setBounds(10, 40, 100, 20);
         view.add(scoreLabel);
 
-        // start physics
-        game.start();
+        // start physics; platforms are generated from the world's own step listener
+        startPhysics();
+
+        // build level 2 while level 1 is played
+        preloader.prepare(currentLevel + 1);
+    }
+
+    /**
+     * Load a level's description, decode its images and build its world, without starting it.
+     * Runs on the preloading thread for every level after the first.
+     *
+     * @param level level number
+     * @return the level's world, or null if there is no such level
+     */
+    private GameWorld buildLevel(int level) {
+        LevelSpec spec = LevelLoader.load(level);
+        if (spec == null) {
+            return null;
+        }
+        Assets.preload(Assets.levelScope(level), spec.getImages());
+        return new GameWorld(this, spec, levelRandom(seed, level));
+    }
+
+    /**
+     * Start stepping the current world on its own thread and point the view at its snapshots.
+     */
+    private void startPhysics() {
+        physics = new PhysicsLoop(game);
+        view.setPhysics(physics);
+        physics.start();
+    }
 
-        // timer to spawn platforms
-        new Timer(100, e -> game.updatePlatform()).start();
+    /**
+     * Stop stepping the current world, if it is running.
+     */
+    private void stopPhysics() {
+        stopPhysics(null);
     }
 
     /**
-     * Advance to the next level: stops current world, resets HUD, loads new world, GUI, music.
+     * Stop stepping the current world, then run an action once its last step has returned.
+     *
+     * @param afterStop action to run once the world is no longer stepped, or null
+     */
+    private void stopPhysics(Runnable afterStop) {
+        if (physics != null) {
+            physics.stop(afterStop);
+        } else if (afterStop != null) {
+            afterStop.run();
+        }
+    }
+
+    /**
+     * @return the world making a callback: the one stepped by the calling physics thread,
+     *         or the current world when called from the Swing thread
+     */
+    private GameWorld caller() {
+        GameWorld stepping = PhysicsLoop.steppingWorld();
+        return stepping != null ? stepping : game;
+    }
+
+    /**
+     * Run a callback from the world on the Swing thread. Worlds call back from the physics
+     * thread after a step; by the time the callback runs, the level may have changed or the
+     * game ended, in which case it is dropped.
+     *
+     * @param from   the world that made the callback
+     * @param action what to do on the Swing thread
+     */
+    private void onSwingThread(GameWorld from, Runnable action) {
+        Runnable guarded = () -> {
+            if (game == from && !ended) {
+                action.run();
+            }
+        };
+        if (SwingUtilities.isEventDispatchThread()) {
+            guarded.run();
+        } else {
+            SwingUtilities.invokeLater(guarded);
+        }
+    }
+
+    /**
+     * Advance to the next level once the current one is finished.
      */
     public void goToNextLevel() {
+        onSwingThread(caller(), this::advanceLevel);
+    }
+
+    /**
+     * Advance to the next level: stops current world, resets HUD, swaps in the next world
+     * (prepared in the background when possible), GUI and music.
+     */
+    private void advanceLevel() {
+        long start = System.nanoTime();
         currentLevel++;
 
         // reset HUD
         updateScoreDisplay(0);
         updateHealthDisplay(4);
-        Sound.stopBackgroundMusic();
         if (game != null) {
-            game.stop();
+            // once the finished world's last step returns, end its level in the input log
+            // at the final step count and tear the world down
+            GameWorld finished = game;
+            stopPhysics(() -> {
+                if (recorder != null) {
+                    recorder.endLevel(finished.getStepCount());
+                }
+                finished.dispose();
+            });
         }
 
-        // create appropriate level
-        if (currentLevel == 2) {
-            Level2 level2 = new Level2();
-            game = level2.createWorld(this);
-            view.setWorld(game);
-            view.setBackgroundImage(level2.getBackgroundImage());
-            view.setPlayer(game.getPlayer());
-            Sound.playBackgroundMusic("data/ice_music.wav");
-            game.start();
-
-        } else if (currentLevel == 3) {
-            Level3 level3 = new Level3();
-            game = level3.createWorld(this);
-            view.setWorld(game);
-            view.setBackgroundImage(level3.getBackgroundImage());
-            view.setPlayer(game.getPlayer());
-            Sound.playBackgroundMusic("data/level3.wav");
-            game.start();
+        // release the finished level's images
+        Assets.endScope(Assets.levelScope(currentLevel - 1));
 
-        } else {
+        // take the prepared world, building it here only if preparation failed;
+        // past the last level the game is won
+        GameWorld next = preloader.take(currentLevel);
+        boolean preloaded = next != null;
+        if (next == null) {
+            next = buildLevel(currentLevel);
+        }
+        if (next == null) {
             gameWon();
             return;
         }
+        game = next;
+        LevelSpec spec = game.getSpec();
+        view.setWorld(game);
+        view.setBackgroundLayers(spec.getBackgroundLayers());
+        view.setPlayer(game.getPlayer());
+        Sound.crossfadeBackgroundMusic(spec.getMusic(), MUSIC_CROSSFADE_MS);
 
         // re‐attach controls and reset player star count
         Player p = game.getPlayer();
@@ -122,9 +252,49 @@ public class Game {
         for (KeyListener kl : view.getKeyListeners()) {
             view.removeKeyListener(kl);
         }
-        view.addKeyListener(new PlayerController(p));
-        view.requestFocusInWindow();
+        attachControls(p);
         p.resetStarCount();
+
+        // start stepping only once the new world is fully wired up
+        startPhysics();
+        lastTransitionNanos = System.nanoTime() - start;
+        view.setLastTransition(getLastTransitionMillis(), preloaded);
+
+        preloader.prepare(currentLevel + 1);
+    }
+
+    /**
+     * @return time the last level switch held up play, in milliseconds
+     */
+    public double getLastTransitionMillis() {
+        return lastTransitionNanos / 1e6;
+    }
+
+    /**
+     * Connect the player to the keyboard, or to the replay log when replaying.
+     *
+     * @param player the current level's player
+     */
+    private void attachControls(Player player) {
+        PlayerController controller = new PlayerController(player, game, recorder);
+        if (replay != null) {
+            replay.attach(game, controller);
+        } else {
+            view.addKeyListener(controller);
+            view.requestFocusInWindow();
+        }
+    }
+
+    /**
+     * Return the random source for a level, derived from the game's seed so every
+     * level of a replayed game is generated exactly as it was recorded.
+     *
+     * @param seed  the game's seed
+     * @param level level number
+     * @return a freshly seeded random source
+     */
+    static Random levelRandom(long seed, int level) {
+        return new Random(seed * 31 + level);
     }
 
     /**
@@ -132,13 +302,15 @@ public class Game {
      * @param health number of health points remaining (1–4)
      */
     public void updateHealthDisplay(int health) {
-        healthLabel.setIcon(new ImageIcon("data/health" + health + ".png"));
-        healthLabel.repaint();
+        onSwingThread(caller(), () -> {
+            healthLabel.setIcon(Assets.icon("data/health" + health + ".png"));
+            healthLabel.repaint();
+        });
     }
 
     /** Trigger the game-over end screen. */
     public void gameOver() {
-        endScreen("data/gameover.png");
+        onSwingThread(caller(), () -> endScreen("data/gameover.png"));
     }
 
     /** Trigger the “you win” end screen. */
@@ -151,7 +323,12 @@ public class Game {
      * @param imagePath path to the end-screen image
      */
     private void endScreen(String imagePath) {
-        game.stop();
+        ended = true;
+        stopPhysics();
+        preloader.cancel();
+        if (recorder != null) {
+            recorder.flush();
+        }
         Sound.stopBackgroundMusic();
 
         JPanel overlay = new JPanel() {
@@ -168,7 +345,7 @@ public class Game {
         overlay.setBounds(0,0,500,500);
         overlay.setFocusable(false);
 
-        ImageIcon icon = new ImageIcon(imagePath);
+        ImageIcon icon = Assets.icon(imagePath);
         Image img = icon.getImage().getScaledInstance(300,200,Image.SCALE_SMOOTH);
         JLabel imgLabel = new JLabel(new ImageIcon(img));
         imgLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
@@ -187,18 +364,34 @@ public class Game {
         frame.repaint();
     }
 
-    /** Dispose current window and launch a fresh Game instance. */
+    /** Dispose the current game and launch a fresh Game instance. */
     private void restartGame() {
-        frame.dispose();
+        dispose();
         new Game();
     }
 
+    /**
+     * Tear the game down: stop preloading and physics, dispose the current world, stop the
+     * music, close the input log and the window. Nothing the game started keeps running.
+     */
+    public void dispose() {
+        preloader.shutdown();
+        view.setPhysics(null);
+        GameWorld world = game;
+        stopPhysics(world::dispose);
+        Sound.stopBackgroundMusic();
+        if (recorder != null) {
+            recorder.close();
+        }
+        frame.dispose();
+    }
+
     /**
      * Update the on-screen star count.
      * @param score new star count
      */
     public void updateScoreDisplay(int score) {
-        scoreLabel.setText("Stars: " + score);
+        onSwingThread(caller(), () -> scoreLabel.setText("Stars: " + score));
     }
 
     /**
@@ -208,8 +401,56 @@ public class Game {
         return game;
     }
 
-    /** Launch the application. */
-    public static void main(String[] args) {
-        new Game();
+    /**
+     * Launch the application.
+     * <pre>
+     *   java game.Game [-seed S] [-record input.log | -replay input.log] [-soak cycles]
+     * </pre>
+     * With {@code -soak} the game is started, played through its level changes and disposed
+     * over and over, and the process exits non-zero if heap or threads do not return to baseline.
+     * @param args command line arguments
+     * @throws Exception if a record or replay log cannot be opened, or a soak cycle fails
+     */
+    public static void main(String[] args) throws Exception {
+        Long seed = null;
+        String record = null;
+        String replay = null;
+        int soak = 0;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "-seed": seed = Long.parseLong(args[i + 1]); break;
+                case "-record": record = args[i + 1]; break;
+                case "-replay": replay = args[i + 1]; break;
+                case "-soak": soak = Integer.parseInt(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        if (soak > 0) {
+            long s = seed != null ? seed : 42;
+            boolean ok = Soak.run("Game", soak, () -> {
+                Game[] game = new Game[1];
+                SwingUtilities.invokeAndWait(() -> game[0] = new Game(s, null, null));
+                for (int level = 1; level < 3; level++) {
+                    Thread.sleep(SOAK_PLAY_MS);
+                    SwingUtilities.invokeAndWait(game[0]::goToNextLevel);
+                    System.out.printf("  level %d started after %.1f ms%n", level + 1, game[0].getLastTransitionMillis());
+                }
+                Thread.sleep(SOAK_PLAY_MS);
+                SwingUtilities.invokeAndWait(game[0]::dispose);
+            });
+            System.exit(ok ? 0 : 1);
+        }
+
+        // the game builds its window and starts physics from the Swing thread, which every
+        // callback from the physics thread is handed back to
+        if (replay != null) {
+            InputReplay log = new InputReplay(replay);
+            SwingUtilities.invokeLater(() -> new Game(log.getSeed(), null, log));
+        } else {
+            long s = seed != null ? seed : System.nanoTime();
+            InputRecorder log = record != null ? new InputRecorder(record, s, 1) : null;
+            SwingUtilities.invokeLater(() -> new Game(s, log, null));
+        }
     }
 }
@@ -0,0 +1,35 @@
+package game;
+
+/**
+ * The callbacks a game world needs from whatever is hosting it.
+ * <p>
+ * {@link Game} implements this with the Swing HUD, end screens and level transitions;
+ * {@link HeadlessRunner} implements it without any UI so worlds can be simulated on their own.
+ * <p>
+ * Worlds call these from the physics thread, after a step has finished (collision reactions
+ * are queued until then by {@link CollisionQueue}). A host with a UI must hand the work over
+ * to its own thread.
+ */
+public interface GameHost {
+
+    /**
+     * Show the player's remaining health.
+     * @param health number of health points remaining (1–4)
+     */
+    void updateHealthDisplay(int health);
+
+    /**
+     * Show the number of stars collected in the current level.
+     * @param score new star count
+     */
+    void updateScoreDisplay(int score);
+
+    /** Called when the player has run out of health or fallen out of the world. */
+    void gameOver();
+
+    /** Called when the player has collected enough stars to finish the level. */
+    void goToNextLevel();
+
+    /** @return the world currently being played */
+    GameWorld getWorld();
+}
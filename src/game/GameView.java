@@ -5,6 +5,9 @@ import org.jbox2d.common.Vec2;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+import java.util.List;
 
 /**
  * The GameView class is responsible for rendering the visual representation of the game world
@@ -12,9 +15,21 @@ import java.awt.*;
  */
 public class GameView extends UserView {
 
-    private Image background;  // Background image of the game view
+    private final BackgroundCache background = new BackgroundCache(); // Pre-scaled background layers
     private Player player;     // The player character
 
+    /** Pixels per world unit at the view's default zoom. */
+    private static final float PIXELS_PER_UNIT = 20f;
+
+    private World world;              // The world currently shown
+    private boolean showDiagnostics;  // Whether the profiler overlay is drawn (toggled with F3)
+    private String lastTransition;    // How long the last level switch held up play, for the overlay
+
+    private volatile PhysicsLoop physics;       // Loop stepping the shown world; the source of snapshots
+    private final Vec2 cameraTarget = new Vec2(); // Interpolated player position, reused every frame
+    private final Timer frameTimer;             // Repaints at the display's refresh rate
+    private final WorldRenderer renderer = new WorldRenderer(); // Draws only the bodies on screen
+
     /**
      * Constructor for the GameView. Initializes the view with a specified world, size, player,
      * and background image.
@@ -27,8 +42,149 @@ public class GameView extends UserView {
      */
     public GameView(World world, int width, int height, Player player, String backgroundImagePath) {
         super(world, width, height);
+        this.world = world;
         this.player = player;
-        this.background = new ImageIcon(backgroundImagePath).getImage();
+        background.setLayers(ParallaxLayer.fixed(backgroundImagePath));
+
+        // F3 toggles the diagnostics overlay; a key binding survives the controller swaps between levels
+        getInputMap(WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_F3, 0), "toggleDiagnostics");
+        getActionMap().put("toggleDiagnostics", new AbstractAction() {
+            @Override public void actionPerformed(ActionEvent e) {
+                showDiagnostics = !showDiagnostics;
+            }
+        });
+
+        // Repaint at the display rate; physics snapshots are interpolated to fill the gaps between steps
+        frameTimer = new Timer(1000 / refreshRate(), e -> repaint());
+        frameTimer.setCoalesce(true);
+    }
+
+    /**
+     * Starts repainting at the display rate once the view is on screen.
+     */
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        frameTimer.start();
+    }
+
+    /**
+     * Stops repainting when the view leaves the screen, e.g. when the window is disposed.
+     */
+    @Override
+    public void removeNotify() {
+        frameTimer.stop();
+        background.flush();
+        renderer.clear();
+        super.removeNotify();
+    }
+
+    /**
+     * @return the refresh rate of the default screen, or 60 if it cannot be determined
+     */
+    private static int refreshRate() {
+        try {
+            int hz = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDisplayMode().getRefreshRate();
+            return hz > 0 ? hz : 60;
+        } catch (HeadlessException e) {
+            return 60;
+        }
+    }
+
+    /**
+     * Records how long the last level switch held up play, shown in the diagnostics overlay.
+     *
+     * @param millis    Time the switch took, in milliseconds.
+     * @param preloaded Whether the new level was prepared in the background.
+     */
+    public void setLastTransition(double millis, boolean preloaded) {
+        lastTransition = String.format("level switch %.1f ms (%s)", millis,
+                preloaded ? "prepared in background" : "built on demand");
+    }
+
+    /**
+     * Sets the physics loop whose snapshots drive the camera. The view never reads
+     * the live bodies of a world that is being stepped.
+     *
+     * @param physics The loop stepping the shown world.
+     */
+    public void setPhysics(PhysicsLoop physics) {
+        this.physics = physics;
+    }
+
+    /**
+     * Shows a different world in this view.
+     *
+     * @param world The world to display.
+     */
+    @Override
+    public void setWorld(World world) {
+        super.setWorld(world);
+        this.world = world;
+    }
+
+    /**
+     * Paints the view, recording how long painting takes in the world's profiler.
+     * The camera is placed before anything is drawn, so the whole frame uses the same centre.
+     * Bodies are drawn from the latest physics snapshots, culled to the visible area.
+     *
+     * @param g The graphics context to paint with.
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        long t0 = System.nanoTime();
+        PhysicsLoop loop = physics;
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (loop == null || gc == null) {
+            // nothing is stepping the world yet, so it is safe to let UserView draw it
+            super.paintComponent(g);
+        } else {
+            // pinned so the physics thread does not capture into it while it is drawn
+            PhysicsLoop.Frame frame = loop.pinFrame();
+            try {
+                float alpha = frame.alpha(t0);
+                updateCamera(frame, alpha);
+
+                Graphics2D g2 = (Graphics2D) g;
+                paintBackground(g2);
+                renderer.paint(g2, gc, frame, alpha, getCentre(), getWidth(), getHeight(), PIXELS_PER_UNIT);
+                paintForeground(g2);
+            } finally {
+                loop.releaseFrame();
+            }
+        }
+        if (world instanceof GameWorld) {
+            ((GameWorld) world).getProfiler().recordPaint(System.nanoTime() - t0);
+        }
+        Toolkit.getDefaultToolkit().sync(); // flush now rather than whenever the window system batches it
+    }
+
+    /**
+     * Centre the camera on the player's position interpolated between the two latest
+     * physics snapshots.
+     *
+     * @param frame The two latest snapshots.
+     * @param alpha How far between them this frame is drawn.
+     */
+    private void updateCamera(PhysicsLoop.Frame frame, float alpha) {
+        if (!TransformSnapshot.interpolate(frame.getPrevious(), frame.getCurrent(), player, alpha, cameraTarget)) {
+            return;
+        }
+
+        // Define the bounds within which the camera can move
+        float minY = -15;  // Minimum Y position of the camera
+        float minX = 0;    // Minimum X position of the camera
+        float maxX = 0;    // Maximum X position of the camera
+
+        // Only move the camera if the player's position is above the ground
+        if (cameraTarget.y > 0) {
+            float cameraY = Math.max(cameraTarget.y, minY);
+            float cameraX = Math.max(minX, Math.min(cameraTarget.x, maxX));
+
+            // Set the camera's center to the player's position
+            this.setCentre(new Vec2(cameraX, cameraY));
+        }
     }
 
     /**
@@ -37,7 +193,16 @@ public class GameView extends UserView {
      * @param backgroundImagePath The path to the new background image file.
      */
     public void setBackgroundImage(String backgroundImagePath) {
-        this.background = new ImageIcon(backgroundImagePath).getImage();
+        setBackgroundLayers(ParallaxLayer.fixed(backgroundImagePath));
+    }
+
+    /**
+     * Replaces the background with layers that scroll with the camera, back to front.
+     *
+     * @param layers The background layers.
+     */
+    public void setBackgroundLayers(ParallaxLayer... layers) {
+        background.setLayers(layers);
         repaint(); // Trigger a repaint to reflect the change
     }
 
@@ -52,38 +217,93 @@ public class GameView extends UserView {
 
     /**
      * Paints the background of the game view. This is called every time the view needs to be redrawn.
+     * The layers are cached at the view's size, so this is only a few image copies.
      *
      * @param g The Graphics2D object used for drawing the background.
      */
     @Override
     protected void paintBackground(Graphics2D g) {
-        g.drawImage(background, 0, 0, this.getWidth(), this.getHeight(), this);
+        background.paint(g, this, getCentre().y, PIXELS_PER_UNIT);
     }
 
     /**
-     * Paints the foreground elements (e.g., player, interactive objects) in the game view.
-     * This includes following the player with the camera.
+     * Paints the foreground elements (e.g., the diagnostics overlay) in the game view.
      *
      * @param g The Graphics2D object used for drawing the foreground elements.
      */
     @Override
     protected void paintForeground(Graphics2D g) {
-        // Define the bounds within which the camera can move
-        float minY = -15;  // Minimum Y position of the camera
-        float minX = 0;    // Minimum X position of the camera
-        float maxX = 0;    // Maximum X position of the camera
+        // Let the sound system know what is on screen
+        Vec2 centre = getCentre();
+        Sound.setView(centre.x, centre.y, getWidth() / 2f / PIXELS_PER_UNIT, getHeight() / 2f / PIXELS_PER_UNIT);
 
-        // Get the player's position to center the camera on them
-        Vec2 playerPos = player.getPosition();
+        if (showDiagnostics && world instanceof GameWorld) {
+            paintDiagnostics(g, (GameWorld) world);
+        }
+    }
 
-        // Only move the camera if the player's position is above the ground
-        if (playerPos.y > 0) {
-            float cameraY = Math.max(playerPos.y, minY);
-            float cameraX = Math.max(minX, Math.min(playerPos.x, maxX));
+    /**
+     * Draws the profiler overlay: rolling p50/p95/p99 per section plus live counts.
+     *
+     * @param g     The Graphics2D object used for drawing.
+     * @param world The world being shown.
+     */
+    private void paintDiagnostics(Graphics2D g, GameWorld world) {
+        Profiler profiler = world.getProfiler();
+        List<Profiler.Section> sections = profiler.getSections();
+        int lineHeight = 13;
+        int x = 10, y = 70;
+        int height = (sections.size() + 8) * lineHeight + 6;
 
-            // Set the camera's center to the player's position
-            this.setCentre(new Vec2(cameraX, cameraY));
+        g.setColor(new Color(0, 0, 0, 170));
+        g.fillRect(x - 4, y - 4, 300, height);
+        g.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 11));
+        g.setColor(Color.WHITE);
+
+        y += lineHeight - 3;
+        g.drawString(String.format("%-20s %7s %7s %7s", "section (us)", "p50", "p95", "p99"), x, y);
+        for (Profiler.Section s : sections) {
+            y += lineHeight;
+            String name = s.getName().length() > 20 ? s.getName().substring(0, 20) : s.getName();
+            g.drawString(String.format("%-20s %7.1f %7.1f %7.1f", name,
+                    s.percentileMicros(50), s.percentileMicros(95), s.percentileMicros(99)), x, y);
+        }
+        y += lineHeight;
+        g.drawString(String.format("bodies %d  fixtures %d", profiler.getBodyCount(), profiler.getFixtureCount()), x, y);
+        y += lineHeight;
+        double perStep = profiler.getAllocatedBytesPerStep();
+        g.drawString(perStep < 0 ? "alloc n/a"
+                : String.format("alloc %.1f KB/step (%.1f MB/s)", perStep / 1024, perStep * 60 / (1024 * 1024)), x, y);
+        y += lineHeight;
+        g.drawString(poolLine("shots", world.getProjectiles()), x, y);
+        y += lineHeight;
+        g.drawString(poolLine("spikes", world.getSpikes()), x, y);
+        BulletSystem bullets = world.getBullets();
+        if (bullets != null) {
+            y += lineHeight;
+            g.drawString(String.format("bullets %d/%d  hit %d  terrain %d  full %d", bullets.size(),
+                    bullets.getCapacity(), bullets.getPlayerHits(), bullets.getTerrainHits(), bullets.getRejected()), x, y);
+        }
+        PhysicsLoop loop = physics;
+        if (loop != null) {
+            y += lineHeight;
+            g.drawString(String.format("drawn %d of %d  steps dropped %d", renderer.getDrawn(),
+                    loop.getFrame().getCurrent().size(), loop.getDroppedSteps()), x, y);
         }
+        if (lastTransition != null) {
+            y += lineHeight;
+            g.drawString(lastTransition, x, y);
+        }
+    }
+
+    /**
+     * @param name what the pool holds
+     * @param pool a body pool
+     * @return one overlay line with the pool's occupancy and counters
+     */
+    private static String poolLine(String name, BodyPool<?> pool) {
+        return String.format("%-6s %2d/%-2d hit %d miss %d full %d", name, pool.getActiveCount(),
+                pool.getCapacity(), pool.getHits(), pool.getMisses(), pool.getRejected());
     }
 }
 
@@ -5,58 +5,118 @@ import org.jbox2d.common.Vec2;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
 
 /**
  * The GameWorld class configures and manages the game world, including platform generation,
- * enemy spawning, collectibles, and level-specific behaviors.
+ * enemy spawning, collectibles, and level-specific behaviors. Everything that differs between
+ * levels comes from the world's {@link LevelSpec}.
  */
 public class GameWorld extends World {
 
     private final Player player;
-    private final Game game;
+    private final GameHost game;
+    private final LevelSpec spec;
+    private final Random random;
 
     // Platform generation state
     private float lastPlatformY = -7;
     private final List<StaticBody> platforms = new ArrayList<>();
-    private final List<StaticBody> movingPlatforms = new ArrayList<>();
-    private final List<Float> platformSpeeds = new ArrayList<>();
-    private String platformImagePath;
-    private String groundImagePath;
-    private float platformImageScale;
-    private final boolean isLevel2;
-    private final boolean isLevel3;
-
-    // Star spawning configuration
+    private final MovingPlatforms movingPlatforms = new MovingPlatforms();
+    private final PlatformIndex platformIndex = new PlatformIndex(PLATFORM_HALF_WIDTH, PLATFORM_HALF_HEIGHT);
+    private static final float PLATFORM_SPEED = 3f;
+    private static final float PLATFORM_TRAVEL = 10f;
+    private static final float PLATFORM_HALF_WIDTH = 2f;
+    private static final float PLATFORM_HALF_HEIGHT = 0.75f;
+
+    // Level bounds: inner faces of the side walls and top of the ground
+    private static final float WALL_X = 13f;
+    private static final float GROUND_Y = -12f;
+    private static final float WALL_INNER = WALL_X - 0.5f;
+    private static final float GROUND_TOP = GROUND_Y + 0.5f;
+
+    // Star spawning state
     private float lastStarSpawnY = -10;
-    private static final float STAR_SPAWN_INTERVAL = 15f;
-    private static final float STAR_PROBABILITY = 0.9f;
 
-    // Falling spike configuration
-    private static String[] SPIKE_IMAGES = {"data/spike1.png", "data/spike2.png", "data/spike3.png"};
+    // Falling spike state
     private boolean fallingSpikesEnabled = false;
     private int spikeTimer = 0;
-    private int spikeInterval = 180;
 
-    // Active enemies in the world
-    private final List<Enemy> enemies = new ArrayList<>();
+    // Active enemies in the world, firing on staggered steps
+    private final FireScheduler fire;
+
+    // Chunk streaming: live chunks keyed by vertical index, lowest first
+    private final TreeMap<Integer, WorldChunk> chunks = new TreeMap<>();
+    private static final float CULL_DISTANCE = 2 * WorldChunk.HEIGHT;
+    private boolean fellOut = false;
+
+    // Spatial index of platforms, enemies, stars and spikes for proximity queries
+    private static final float GRID_CELL = 10f;
+    private final SpatialGrid<Body> entities = new SpatialGrid<>(GRID_CELL);
+
+    // Only enemies this close to the player fire at them
+    private static final float FIRE_RADIUS = 20f;
+    private final List<Body> nearPlayer = new ArrayList<>();
+
+    // Pooled projectiles and falling spikes, retired once this far from the player
+    private final BodyPool<Projectile> projectiles = new BodyPool<>(() -> new Projectile(this),
+            Projectile.POOL_CAPACITY, Projectile.TTL_STEPS, new Vec2(500, -500));
+    private final BodyPool<FallingSpike> spikes = new BodyPool<>(() -> new FallingSpike(this),
+            FallingSpike.POOL_CAPACITY, FallingSpike.TTL_STEPS, new Vec2(500, -505));
+    private static final float DESPAWN_RADIUS = 30f;
+
+    // Enemy shots as lightweight bullets, or null if enemies fire projectile bodies
+    private final BulletSystem bullets;
+
+    // Per-step instrumentation; declared first so it can wrap the listeners registered below
+    private final Profiler profiler = new Profiler(this);
+
+    // Per-step updates of live entities, dispatched from a single listener
+    private final EntityUpdates updates = new EntityUpdates(this);
+
+    // Shared animation clock for every animated body in this world
+    private final AnimationSystem animations = new AnimationSystem(this);
+
+    // Collision reactions, queued during the step and run after it
+    private final CollisionQueue collisions = new CollisionQueue(this);
+
+    // Time spent in each phase of the update loop
+    private final StepTimings timings = new StepTimings();
+
+    // Number of completed steps; during a step's preStep this is that step's index
+    private long stepCount = 0;
+
+    // Set once the world has been torn down
+    private boolean disposed = false;
 
     /**
      * Constructs a new GameWorld.
      *
-     * @param game            Reference to the main Game controller
-     * @param platformImg     File path for platform image
-     * @param groundImg       File path for ground image
-     * @param isLevel2        True if this is level 2 (ice-themed)
-     * @param isLevel3        True if this is level 3 (fire-themed)
+     * @param game            Reference to the host of the game
+     * @param spec            Description of the level to build
      */
-    public GameWorld(Game game, String platformImg, String groundImg, boolean isLevel2, boolean isLevel3) {
+    public GameWorld(GameHost game, LevelSpec spec) {
+        this(game, spec, new Random());
+    }
+
+    /**
+     * Constructs a new GameWorld whose generation is driven by the given random source.
+     * Two worlds built with equally seeded sources generate the same level.
+     *
+     * @param game            Reference to the host of the game
+     * @param spec            Description of the level to build
+     * @param random          Random source for platforms, enemies, stars and hazards
+     */
+    public GameWorld(GameHost game, LevelSpec spec, Random random) {
         super();
         this.game = game;
-        this.platformImagePath = platformImg;
-        this.groundImagePath = groundImg;
-        this.platformImageScale = 1.6f;
-        this.isLevel2 = isLevel2;
-        this.isLevel3 = isLevel3;
+        this.spec = spec;
+        this.random = random;
+        this.fire = new FireScheduler(spec.getFirePeriod(), spec.getFireMaxPerStep(),
+                spec.getFireBurst(), spec.getFireBurstGap());
+        this.bullets = spec.getBulletCapacity() > 0
+                ? new BulletSystem(spec.getBulletCapacity(), Projectile.TTL_STEPS, Assets.scopeOf(this)) : null;
 
         // Initialize player
         this.player = new Player(this, game);
@@ -69,16 +129,44 @@ public class GameWorld extends World {
 
         // Begin update loop
         startUpdateLoop();
+        schedulePatrols();
+    }
+
+    /**
+     * Spawn each of the level's patrol enemies once the player holds enough stars.
+     */
+    private void schedulePatrols() {
+        for (LevelSpec.PatrolSpec patrol : spec.getPatrols()) {
+            BodyImage[] left = Assets.images(this, patrol.getScale(), patrol.getLeftFrames());
+            BodyImage[] right = Assets.images(this, patrol.getScale(), patrol.getRightFrames());
+            updates.runUntil(() -> {
+                if (player.getStarCount() < patrol.getAfterStars()) {
+                    return false;
+                }
+                // The patrol enemy subscribes its own per-step update
+                new PatrolEnemy(
+                        this,
+                        new Vec2(player.getPosition().x, player.getPosition().y + patrol.getSpawnAbove()),
+                        patrol.getLeftBound(), patrol.getRightBound(),
+                        player, left, right,
+                        patrol.getFrameDelay(),
+                        patrol.getMode()
+                );
+                return true;
+            });
+        }
     }
 
     /**
      * Create the first platform under the player.
      */
     private void createInitialPlatform() {
-        BoxShape shape = new BoxShape(2f, 0.75f);
+        BoxShape shape = new BoxShape(PLATFORM_HALF_WIDTH, PLATFORM_HALF_HEIGHT);
         StaticBody platform = new StaticBody(this, shape);
         platform.setPosition(new Vec2(5, -7));
-        platform.addImage(new BodyImage(platformImagePath, platformImageScale));
+        platform.addImage(Assets.image(this, spec.getPlatformImage(), spec.getPlatformScale()));
+        own(platform);
+        platformIndex.add(platform, false);
     }
 
     /**
@@ -89,8 +177,9 @@ public class GameWorld extends World {
         for (int i = 0; i < 13; i++) {
             BoxShape shape = new BoxShape(tileWidth / 2, 0.5f);
             StaticBody ground = new StaticBody(this, shape);
-            ground.setPosition(new Vec2(-11 + i * tileWidth, -12));
-            ground.addImage(new BodyImage(groundImagePath, 2));
+            ground.setPosition(new Vec2(-11 + i * tileWidth, GROUND_Y));
+            ground.addImage(Assets.image(this, spec.getGroundImage(), spec.getGroundScale()));
+            own(ground);
         }
     }
 
@@ -98,8 +187,8 @@ public class GameWorld extends World {
      * Create invisible walls on left and right to confine the player.
      */
     private void createWalls() {
-        createWall(-13);
-        createWall(13);
+        createWall(-WALL_X);
+        createWall(WALL_X);
     }
 
     /**
@@ -122,28 +211,35 @@ public class GameWorld extends World {
      * @param moving   If true, the platform will be moving
      */
     private void addPlatform(float x, float y, boolean moving) {
-        BoxShape shape = new BoxShape(2f, 0.75f);
-        StaticBody platform = new StaticBody(this, shape);
-        platform.setPosition(new Vec2(x, y));
-        platform.addImage(new BodyImage(platformImagePath, platformImageScale));
-        SolidFixture fixture = new SolidFixture(platform, shape);
-
-        if (isLevel2) {
-            if (Math.random() < 0.4f) {
-                addSnowOverlay(platform);
-                fixture.setFriction(1);
-            }
-            maybeSpawnStaticSpike(x, y);
-        }
-
+        BoxShape shape = new BoxShape(PLATFORM_HALF_WIDTH, PLATFORM_HALF_HEIGHT);
+        Body platform;
+        SolidFixture fixture;
         if (moving) {
-            movingPlatforms.add(platform);
-            platformSpeeds.add(0.05f);
+            MovingPlatform mp = new MovingPlatform(this, shape);
+            mp.setPosition(new Vec2(x, y));
+            movingPlatforms.add(mp, -PLATFORM_TRAVEL, PLATFORM_TRAVEL, PLATFORM_SPEED);
+            fixture = mp.getFixture();
+            platform = mp;
         } else {
-            platforms.add(platform);
+            StaticBody sp = new StaticBody(this, shape);
+            sp.setPosition(new Vec2(x, y));
+            fixture = new SolidFixture(sp, shape);
+            platforms.add(sp);
+            platform = sp;
         }
+        platform.addImage(Assets.image(this, spec.getPlatformImage(), spec.getPlatformScale()));
+        own(platform);
+        platformIndex.add(platform, moving);
 
-        if (Math.random() < 0.2) {
+        if (spec.getOverlayImage() != null && random.nextFloat() < spec.getOverlayChance()) {
+            addOverlay(platform);
+            fixture.setFriction(spec.getOverlayFriction());
+        }
+        // static spikes would be left hanging in the air once the platform moves away
+        if (spec.getStaticSpikeImage() != null && !moving) maybeSpawnStaticSpike(x, y);
+
+        // likewise enemies only stand on platforms that stay put
+        if (!moving && random.nextFloat() < spec.getEnemyChance()) {
             spawnEnemyOnPlatform(x, y);
         }
 
@@ -151,26 +247,26 @@ public class GameWorld extends World {
     }
 
     /**
-     * Attach a snow image overlay to a platform.
+     * Attach the level's overlay image (e.g. snow) to a platform.
      *
-     * @param platform The platform to which the snow overlay will be attached.
+     * @param platform The platform to which the overlay will be attached.
      */
-    private void addSnowOverlay(StaticBody platform) {
-        BodyImage snow = new BodyImage("data/snow_overlay.png", platformImageScale);
-        new AttachedImage(platform, snow, 1, 0, new Vec2(0, 1f));
+    private void addOverlay(Body platform) {
+        BodyImage overlay = Assets.image(this, spec.getOverlayImage(), spec.getPlatformScale());
+        new AttachedImage(platform, overlay, 1, 0, new Vec2(0, 1f));
     }
 
     /**
-     * Randomly spawn a static ice spike above the platform.
+     * Randomly spawn a static spike above the platform.
      *
      * @param x The x-coordinate of the platform
      * @param y The y-coordinate of the platform
      */
     private void maybeSpawnStaticSpike(float x, float y) {
-        if (Math.random() < 0.15) {
-            float offsetX = (Math.random() < 0.5) ? x - 1.3f : x + 1.3f;
+        if (random.nextFloat() < spec.getStaticSpikeChance()) {
+            float offsetX = random.nextBoolean() ? x - 1.3f : x + 1.3f;
             Vec2 pos = new Vec2(offsetX, y + 1.5f);
-            new IceSpike(this, pos);
+            own(new IceSpike(this, pos, spec.getStaticSpikeImage()));
         }
     }
 
@@ -180,27 +276,79 @@ public class GameWorld extends World {
      * @param x The x-coordinate of the platform
      * @param y The y-coordinate of the platform
      */
-    private void spawnEnemyOnPlatform(float x, float y) {
-        Vec2 pos = new Vec2(x, y + (isLevel3 ? 2.2f : 1.65f));
-        BodyImage[] sprites;
-        if (isLevel2) {
-            sprites = new BodyImage[]{new BodyImage("data/enemy_ice1.png", 2),
-                    new BodyImage("data/enemy_ice2.png", 2),
-                    new BodyImage("data/enemy_ice3.png", 2)};
-        } else if (isLevel3) {
-            sprites = new BodyImage[]{new BodyImage("data/flameShooter1.png", 4),
-                    new BodyImage("data/flameShooter2.png", 4),
-                    new BodyImage("data/flameShooter3.png", 4),
-                    new BodyImage("data/flameShooter4.png", 4)};
-        } else {
-            sprites = new BodyImage[]{new BodyImage("data/enemy1.png", 2),
-                    new BodyImage("data/enemy2.png", 2),
-                    new BodyImage("data/enemy3.png", 2),
-                    new BodyImage("data/enemy4.png", 2)};
+    void spawnEnemyOnPlatform(float x, float y) {
+        Vec2 pos = new Vec2(x, y + spec.getEnemyOffset());
+        BodyImage[] sprites = Assets.images(this, spec.getEnemyScale(), spec.getEnemySprites());
+        Enemy enemy = new Enemy(this, pos, player, sprites, spec.getEnemyShot());
+        fire.add(enemy, stepCount);
+        own(enemy);
+    }
+
+    /**
+     * Hand a newly generated body to the chunk covering its position and add it to the
+     * spatial index. The body leaves the index again when it is destroyed, whether by
+     * gameplay or by its chunk being torn down.
+     *
+     * @param body the body to own
+     */
+    private void own(Body body) {
+        Vec2 pos = body.getPosition();
+        chunkAt(pos.y).add(body);
+        entities.update(body, pos.x, pos.y);
+        body.addDestructionListener(e -> entities.remove(body));
+    }
+
+    /**
+     * Return the chunk covering the given height, creating it if needed.
+     *
+     * @param y world y-coordinate
+     * @return the chunk that owns bodies generated at {@code y}
+     */
+    private WorldChunk chunkAt(float y) {
+        return chunks.computeIfAbsent(WorldChunk.indexOf(y), WorldChunk::new);
+    }
+
+    /**
+     * Tear down every chunk lying entirely more than {@link #CULL_DISTANCE} below the camera,
+     * dropping the torn-down bodies from the platform and enemy lists as well.
+     * The camera follows the player, so the player's height stands in for the camera.
+     *
+     * @param cameraY current camera height
+     */
+    void cullChunks(float cameraY) {
+        while (!chunks.isEmpty() && chunks.firstEntry().getValue().getTop() < cameraY - CULL_DISTANCE) {
+            List<Body> removed = chunks.pollFirstEntry().getValue().tearDown();
+            for (Body b : removed) {
+                if (b instanceof Enemy) {
+                    fire.remove(b);
+                } else if (platformIndex.remove(b) && !platforms.remove(b)) {
+                    movingPlatforms.remove(b);
+                }
+            }
+        }
+    }
+
+    /**
+     * Return expired and far-off projectiles and spikes to their pools.
+     */
+    private void despawnHazards() {
+        Vec2 p = player.getPosition();
+        projectiles.update(stepCount, p.x, p.y, DESPAWN_RADIUS);
+        spikes.update(stepCount, p.x, p.y, DESPAWN_RADIUS);
+    }
+
+    /**
+     * End the game if the player has fallen below the lowest chunk still alive,
+     * since there is no more geometry there to land on.
+     *
+     * @param py the player's height
+     */
+    private void checkFellOut(float py) {
+        if (fellOut || chunks.isEmpty()) return;
+        if (py < chunks.firstKey() * WorldChunk.HEIGHT && chunks.firstKey() > WorldChunk.indexOf(-12)) {
+            fellOut = true;
+            game.gameOver();
         }
-        String shot = isLevel2 ? "data/ice_shot.png" : isLevel3 ? "data/fireball.png" : "data/shot.png";
-        Enemy enemy = new Enemy(this, pos, player, sprites, shot);
-        enemies.add(enemy);
     }
 
     /**
@@ -209,9 +357,9 @@ public class GameWorld extends World {
     public void updatePlatform() {
         float py = player.getPosition().y;
         if (py > lastPlatformY - 5) generatePlatforms(5);
-        if (py > lastStarSpawnY + STAR_SPAWN_INTERVAL) {
+        if (py > lastStarSpawnY + spec.getStarInterval()) {
             lastStarSpawnY = py;
-            if (Math.random() < STAR_PROBABILITY) {
+            if (random.nextFloat() < spec.getStarChance()) {
                 spawnStar(new Vec2(randomX(), py + 3));
             }
         }
@@ -222,11 +370,11 @@ public class GameWorld extends World {
      *
      * @param count The number of platforms to generate.
      */
-    private void generatePlatforms(int count) {
+    void generatePlatforms(int count) {
         for (int i = 0; i < count; i++) {
             float x = randomX();
-            float y = lastPlatformY + 5 + (float) (Math.random() * 3);
-            addPlatform(x, y, Math.random() < 0.3);
+            float y = lastPlatformY + 5 + random.nextFloat() * 3;
+            addPlatform(x, y, random.nextFloat() < spec.getMovingChance());
         }
     }
 
@@ -236,52 +384,104 @@ public class GameWorld extends World {
      * @return The random X-coordinate.
      */
     private float randomX() {
-        return -10 + (float) (Math.random() * 20);
+        return -10 + random.nextFloat() * 20;
     }
 
     /**
      * Set up the main physics step listener to drive world updates.
      */
     private void startUpdateLoop() {
-        addStepListener(new StepListener() {
-            int counter;
+        addStepListener("world update", new StepListener() {
             @Override public void preStep(StepEvent e) {
+                long t0 = System.nanoTime();
                 updatePlatform();
+                long t1 = System.nanoTime();
+                float py = player.getPosition().y;
+                cullChunks(py);
+                checkFellOut(py);
+                despawnHazards();
+                long t2 = System.nanoTime();
                 updateMovingPlatforms();
-                if (++counter % 180 == 0) makeEnemiesShoot();
-                if (fallingSpikesEnabled && ++spikeTimer >= spikeInterval) {
+                long t3 = System.nanoTime();
+                fireEnemies(stepCount);
+                long t4 = System.nanoTime();
+                if (fallingSpikesEnabled && ++spikeTimer >= spec.getFallingInterval()) {
                     spawnRandomFallingSpike();
                     spikeTimer = 0;
                 }
+                long t5 = System.nanoTime();
+                if (bullets != null) {
+                    platformIndex.refresh();
+                    bullets.update(stepCount, player, GameWorld.this::bulletHitsTerrain, DESPAWN_RADIUS);
+                }
+                long t6 = System.nanoTime();
+
+                timings.add(StepTimings.PLATFORMS, t1 - t0);
+                timings.add(StepTimings.CULLING, t2 - t1);
+                timings.add(StepTimings.MOVING_PLATFORMS, t3 - t2);
+                timings.add(StepTimings.FIRING, t4 - t3);
+                timings.add(StepTimings.SPIKES, t5 - t4);
+                timings.add(StepTimings.BULLETS, t6 - t5);
+                timings.endStep();
+            }
+            @Override public void postStep(StepEvent e) {
+                stepCount++;
             }
-            @Override public void postStep(StepEvent e) {}
         });
     }
 
     /**
-     * Move platforms marked as moving back and forth.
+     * Register a step listener, timed by this world's profiler under a name derived from its class.
+     *
+     * @param listener the listener to add
      */
-    private void updateMovingPlatforms() {
-        for (int i = 0; i < movingPlatforms.size(); i++) {
-            StaticBody p = movingPlatforms.get(i);
-            float speed = platformSpeeds.get(i);
-            Vec2 pos = p.getPosition();
-            float nx = pos.x + speed;
-            if (nx > 10 || nx < -10) {
-                speed = -speed;
-                platformSpeeds.set(i, speed);
-            }
-            p.setPosition(new Vec2(nx, pos.y));
-        }
+    @Override
+    public void addStepListener(StepListener listener) {
+        String name = listener.getClass().getName();
+        addStepListener(name.substring(name.lastIndexOf('.') + 1), listener);
     }
 
     /**
-     * Make each enemy fire a projectile.
+     * Register a step listener, timed by this world's profiler under the given name.
+     *
+     * @param name     name shown in the profiler
+     * @param listener the listener to add
      */
-    private void makeEnemiesShoot() {
-        for (Enemy e : enemies) {
-            e.shootProjectile();
-        }
+    public void addStepListener(String name, StepListener listener) {
+        // the profiler is not yet assigned if the engine registers listeners during construction
+        super.addStepListener(profiler == null ? listener : profiler.wrap(name, listener));
+    }
+
+    /**
+     * Unregister a step listener previously added to this world.
+     *
+     * @param listener the listener to remove
+     */
+    @Override
+    public void removeStepListener(StepListener listener) {
+        super.removeStepListener(profiler == null ? listener : profiler.unwrap(listener));
+    }
+
+    /**
+     * Drive moving platforms back and forth by velocity, so riders are carried along.
+     */
+    void updateMovingPlatforms() {
+        movingPlatforms.update(entities);
+    }
+
+    /**
+     * Fire the enemies due this step. Each enemy fires on its own phase of the level's fire
+     * period and at most a few projectiles spawn per step, so volleys never pile up on one
+     * step. Only the enemies the spatial index finds near the player are considered, so
+     * enemies far off-screen cost nothing.
+     *
+     * @param step index of the current step
+     */
+    void fireEnemies(long step) {
+        Vec2 p = player.getPosition();
+        nearPlayer.clear();
+        entities.queryRadius(p.x, p.y, FIRE_RADIUS, nearPlayer);
+        fire.update(step, nearPlayer);
     }
 
     /**
@@ -292,32 +492,168 @@ public class GameWorld extends World {
     private void spawnStar(Vec2 pos) {
         Star star = new Star(this);
         star.setPosition(pos);
+        own(star);
+    }
+
+    /**
+     * Fire an enemy shot: a lightweight bullet if the level uses them, otherwise a pooled
+     * projectile. Nothing is fired while the bullets or the projectile pool are at capacity.
+     *
+     * @param position  where the shot starts
+     * @param velocity  its initial velocity
+     * @param imagePath the path to the image that represents the shot
+     */
+    void fireProjectile(Vec2 position, Vec2 velocity, String imagePath) {
+        if (bullets != null) {
+            bullets.fire(position, velocity, imagePath, stepCount);
+            return;
+        }
+        Projectile p = projectiles.acquire(position, stepCount);
+        if (p != null) {
+            p.launch(velocity, imagePath);
+        }
     }
 
     /**
-     * Spawn a falling spike from above the player.
+     * Tell whether a bullet sweeping a segment hits the walls, the ground or a platform.
+     * Walls and ground are plain bounds; platforms are looked up in the platform index.
+     *
+     * @param x0     start x-coordinate
+     * @param y0     start y-coordinate
+     * @param x1     end x-coordinate
+     * @param y1     end y-coordinate
+     * @param radius radius of the bullet
+     * @return true if the segment, widened by the radius, touches terrain
+     */
+    boolean bulletHitsTerrain(float x0, float y0, float x1, float y1, float radius) {
+        if (Math.min(x0, x1) - radius < -WALL_INNER || Math.max(x0, x1) + radius > WALL_INNER
+                || Math.min(y0, y1) - radius < GROUND_TOP) {
+            return true;
+        }
+        return platformIndex.hits(x0, y0, x1, y1, radius);
+    }
+
+    /**
+     * Drop a pooled falling spike from above the player, unless the spike pool is at capacity.
      */
     private void spawnRandomFallingSpike() {
-        String img = SPIKE_IMAGES[(int) (Math.random() * SPIKE_IMAGES.length)];
-        if (isLevel2) FallingSpike.FALLING_SOUND = "data/spikeShatter.wav";
-        else if (isLevel3) FallingSpike.FALLING_SOUND = "data/fireSound.wav";
-        new FallingSpike(this, new Vec2(randomX(), player.getPosition().y + 15), img);
+        String[] images = spec.getFallingImages();
+        String img = images[random.nextInt(images.length)];
+        FallingSpike spike = spikes.acquire(new Vec2(randomX(), player.getPosition().y + 15), stepCount);
+        if (spike != null) {
+            spike.drop(img, spec.getFallingSound());
+        }
     }
 
     /**
-     * Enable falling spikes behavior for ice or fire levels.
+     * Enable falling spikes, if the level has any.
      */
     public void enableFallingSpikes() {
-        if (!fallingSpikesEnabled && (isLevel2 || isLevel3)) {
+        if (spec.getFallingInterval() > 0) {
             fallingSpikesEnabled = true;
-            spikeInterval = isLevel3 ? 100 : 200;
-        }if(isLevel3){
-            SPIKE_IMAGES = new String[]{"data/fireball.png"};
         }
     }
 
+    /**
+     * Tear the world down: cancel every per-step update and animation, destroy every body
+     * and drop the generation state, so nothing it created outlives it. Must not be called
+     * while the world is being stepped; a disposed world is never stepped again. Calling it
+     * again does nothing.
+     */
+    public void dispose() {
+        if (disposed) return;
+        disposed = true;
+        stop();
+        updates.clear();
+        animations.clear();
+        collisions.clear();
+
+        List<Body> bodies = new ArrayList<>(getDynamicBodies());
+        bodies.addAll(getStaticBodies());
+        for (Body b : bodies) {
+            b.destroy();
+        }
+        chunks.clear();
+        platforms.clear();
+        platformIndex.clear();
+        fire.clear();
+        projectiles.clear();
+        spikes.clear();
+        if (bullets != null) bullets.clear();
+    }
+
+    /**
+     * @return True once {@link #dispose()} has been called.
+     */
+    public boolean isDisposed() { return disposed; }
+
+    /**
+     * @return The description of the level this world was built from.
+     */
+    public LevelSpec getSpec() { return spec; }
+
     /**
      * @return The player object in this world.
      */
     public Player getPlayer() { return player; }
+
+    /**
+     * @return The animation system that advances sprite frames in this world.
+     */
+    public AnimationSystem getAnimations() { return animations; }
+
+    /**
+     * @return The index of the current step while stepping, i.e. the number of completed steps.
+     */
+    public long getStepCount() { return stepCount; }
+
+    /**
+     * @return Accumulated per-phase timings of this world's update loop.
+     */
+    public StepTimings getTimings() { return timings; }
+
+    /**
+     * @return The dispatcher running per-step updates of this world's live entities.
+     */
+    public EntityUpdates getUpdates() { return updates; }
+
+    /**
+     * @return The queue running this world's collision reactions after each step.
+     */
+    public CollisionQueue getCollisions() { return collisions; }
+
+    /**
+     * @return The profiler timing this world's step listeners, physics and collisions.
+     */
+    public Profiler getProfiler() { return profiler; }
+
+    /**
+     * @return The scheduler spreading enemy fire across steps.
+     */
+    public FireScheduler getFireScheduler() { return fire; }
+
+    /**
+     * @return The pool the enemies' projectiles are taken from.
+     */
+    public BodyPool<Projectile> getProjectiles() { return projectiles; }
+
+    /**
+     * @return The pool falling spikes are taken from.
+     */
+    public BodyPool<FallingSpike> getSpikes() { return spikes; }
+
+    /**
+     * @return The enemies' lightweight bullets, or null if the level fires projectile bodies.
+     */
+    public BulletSystem getBullets() { return bullets; }
+
+    /**
+     * @return The spatial index of platforms, enemies, stars and spikes in this world.
+     */
+    public SpatialGrid<Body> getEntities() { return entities; }
+
+    /**
+     * @return The number of chunks currently alive in this world.
+     */
+    public int getChunkCount() { return chunks.size(); }
 }
@@ -0,0 +1,20 @@
+package game;
+
+/**
+ * A body that hurts the player on contact: enemy shots, spikes and patrol enemies.
+ * Called by {@link CollisionTable} once a contact has passed the category filter.
+ */
+public interface Hazard extends CollisionCategory.Categorized {
+
+    /**
+     * React to touching the player.
+     *
+     * @param player the player
+     */
+    void hitPlayer(Player player);
+
+    /**
+     * React to touching anything else solid the hazard's mask accepts.
+     */
+    void hitSolid();
+}
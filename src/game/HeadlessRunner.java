@@ -0,0 +1,176 @@
+package game;
+
+import org.jbox2d.common.Vec2;
+
+import java.util.Random;
+
+/**
+ * Runs a level's simulation without any window, view or audio and reports its throughput.
+ * <p>
+ * The world is built from a fixed seed and stepped as fast as possible for a set number of
+ * steps, so runs are comparable between builds and can be done on a machine with no display.
+ * <pre>
+ *   java game.HeadlessRunner [-level 1|2|3] [-steps N] [-seed S] [-climb unitsPerStep] [-replay input.log]
+ *   java game.HeadlessRunner [-level 1|2|3] [-seed S] -soak cycles
+ * </pre>
+ * With {@code -climb} the player is lifted a fixed distance every step, which exercises
+ * platform generation and chunk culling the way a long climb would. With {@code -replay} the
+ * level and seed come from a log recorded by {@link InputRecorder}, and the recorded input
+ * drives the player step for step. With {@code -soak} the level is built in the background,
+ * stepped on a physics thread and disposed over and over, as a level change does, and the
+ * process exits non-zero if heap or threads do not return to baseline.
+ */
+public class HeadlessRunner implements GameHost {
+
+    private GameWorld world;
+    private int gameOvers;
+    private int levelsCompleted;
+
+    /**
+     * Build the world for a level without starting its real-time loop.
+     *
+     * @param level  level number, as in {@code data/levels}
+     * @param random random source for the level's generation
+     * @return the configured world
+     * @throws IllegalArgumentException if there is no such level
+     */
+    public GameWorld createWorld(int level, Random random) {
+        LevelSpec spec = LevelLoader.load(level);
+        if (spec == null) {
+            throw new IllegalArgumentException("No level " + level);
+        }
+        world = new GameWorld(this, spec, random);
+        return world;
+    }
+
+    @Override public void updateHealthDisplay(int health) { }
+
+    @Override public void updateScoreDisplay(int score) { }
+
+    @Override public void gameOver() { gameOvers++; }
+
+    @Override public void goToNextLevel() { levelsCompleted++; }
+
+    @Override public GameWorld getWorld() { return world; }
+
+    /**
+     * Parse the command line, run the simulation and print a report.
+     *
+     * @param args command line arguments, see the class comment
+     */
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        Sound.setMuted(true);
+
+        int level = 1;
+        int steps = 10000;
+        long seed = 42;
+        float climb = 0;
+        InputReplay replay = null;
+        int soak = 0;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "-level": level = Integer.parseInt(args[i + 1]); break;
+                case "-steps": steps = Integer.parseInt(args[i + 1]); break;
+                case "-seed": seed = Long.parseLong(args[i + 1]); break;
+                case "-climb": climb = Float.parseFloat(args[i + 1]); break;
+                case "-replay": replay = new InputReplay(args[i + 1]); break;
+                case "-soak": soak = Integer.parseInt(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        if (replay != null) {
+            level = replay.getStartLevel();
+            seed = replay.getSeed();
+        }
+
+        if (soak > 0) {
+            System.exit(soak(level, seed, soak) ? 0 : 1);
+        }
+
+        HeadlessRunner runner = new HeadlessRunner();
+        GameWorld world = runner.createWorld(level, Game.levelRandom(seed, level));
+        Player player = world.getPlayer();
+        if (replay != null) {
+            replay.attach(world, new PlayerController(player, world, null));
+        }
+
+        long start = System.nanoTime();
+        int maxBodies = 0;
+        for (int i = 0; i < steps; i++) {
+            if (climb != 0) {
+                player.setPosition(new Vec2(player.getPosition().x, player.getPosition().y + climb));
+            }
+            world.oneStep();
+            maxBodies = Math.max(maxBodies, bodyCount(world));
+        }
+        long elapsed = System.nanoTime() - start;
+
+        StepTimings timings = world.getTimings();
+        System.out.printf("level %d, seed %d, %d steps in %.1f ms%n", level, seed, steps, elapsed / 1e6);
+        System.out.printf("  %.0f steps/sec, %.1f us/step%n", steps / (elapsed / 1e9), elapsed / 1e3 / steps);
+        System.out.printf("  live bodies: %d static, %d dynamic (peak %d), %d chunks%n",
+                world.getStaticBodies().size(), world.getDynamicBodies().size(), maxBodies, world.getChunkCount());
+        System.out.printf("  player height %.1f, %d game overs, %d levels completed%n",
+                player.getPosition().y, runner.gameOvers, runner.levelsCompleted);
+        printPool("projectiles", world.getProjectiles());
+        printPool("spikes", world.getSpikes());
+        BulletSystem bullets = world.getBullets();
+        if (bullets != null) {
+            System.out.printf("  %-11s %d/%d in flight, %d fired, %d refused, %d hit the player, %d hit terrain, "
+                            + "%d expired, %d despawned%n", "bullets", bullets.size(), bullets.getCapacity(),
+                    bullets.getFired(), bullets.getRejected(), bullets.getPlayerHits(), bullets.getTerrainHits(),
+                    bullets.getExpired(), bullets.getDespawned());
+        }
+        long phaseTotal = 0;
+        for (int p = 0; p < timings.phaseCount(); p++) {
+            System.out.printf("  %-18s %8.2f us/step%n", timings.name(p), timings.averageMicros(p));
+            phaseTotal += timings.totalNanos(p);
+        }
+        System.out.printf("  %-18s %8.2f us/step%n", "physics + other", (elapsed - phaseTotal) / 1e3 / steps);
+    }
+
+    /**
+     * Build, step and dispose a level over and over, the way the game changes levels.
+     *
+     * @param level  level number
+     * @param seed   seed the level is generated from
+     * @param cycles number of cycles after the warm-up
+     * @return true if heap and threads returned to baseline
+     * @throws Exception if a cycle fails
+     */
+    private static boolean soak(int level, long seed, int cycles) throws Exception {
+        return Soak.run("Level " + level, cycles, () -> {
+            HeadlessRunner runner = new HeadlessRunner();
+            LevelPreloader preloader = new LevelPreloader(n -> runner.createWorld(n, Game.levelRandom(seed, n)));
+            preloader.prepare(level);
+            GameWorld world = preloader.take(level);
+            PhysicsLoop loop = new PhysicsLoop(world);
+            loop.start();
+            Thread.sleep(200);
+            loop.stop(world::dispose);
+            preloader.shutdown();
+        });
+    }
+
+    /**
+     * Print a pool's occupancy and counters.
+     *
+     * @param name what the pool holds
+     * @param pool the pool
+     */
+    private static void printPool(String name, BodyPool<?> pool) {
+        System.out.printf("  %-11s %d/%d in play, %d hits, %d misses, %d refused, %d expired, %d despawned%n",
+                name, pool.getActiveCount(), pool.getCapacity(), pool.getHits(), pool.getMisses(),
+                pool.getRejected(), pool.getExpired(), pool.getDespawned());
+    }
+
+    /**
+     * @param world a world
+     * @return the number of bodies currently alive in it
+     */
+    private static int bodyCount(GameWorld world) {
+        return world.getStaticBodies().size() + world.getDynamicBodies().size();
+    }
+}
@@ -6,7 +6,7 @@ import org.jbox2d.common.Vec2;
 /**
  * IceSpike is a static obstacle that damages the player on contact.
  */
-public class IceSpike extends StaticBody implements CollisionListener {
+public class IceSpike extends StaticBody implements Hazard {
 
     /**
      * Polygon shape defining the spike collision area.
@@ -25,20 +25,36 @@ public class IceSpike extends StaticBody implements CollisionListener {
      * @param position the spawn position of the spike
      */
     public IceSpike(World world, Vec2 position) {
+        this(world, position, "data/obstacle.png");
+    }
+
+    /**
+     * Creates a spike with the given image at the given position in the world.
+     * @param world     the physics world
+     * @param position  the spawn position of the spike
+     * @param imagePath path to the spike's image file
+     */
+    public IceSpike(World world, Vec2 position, String imagePath) {
         super(world, SPIKE_SHAPE);
         setPosition(position);
-        addImage(new BodyImage("data/obstacle.png", 1.5f));
-        addCollisionListener(this);
+        addImage(Assets.image(world, imagePath, 1.5f));
+        CollisionTable.listen(this);
     }
 
+    @Override
+    public CollisionCategory getCategory() { return CollisionCategory.HAZARD; }
+
     /**
-     * Called when another body collides with this spike.
-     * If the body is the player, reduces their health.
+     * Reduce the health of the player touching the spike.
      */
     @Override
-    public void collide(CollisionEvent e) {
-        if (e.getOtherBody() instanceof Player) {
-            ((Player) e.getOtherBody()).decreaseHealth();
-        }
+    public void hitPlayer(Player player) {
+        player.decreaseHealth();
     }
+
+    /**
+     * A spike stays put whatever else touches it.
+     */
+    @Override
+    public void hitSolid() { }
 }
@@ -0,0 +1,100 @@
+package game;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Writes the player's key events to a compact binary log so a run can be replayed exactly.
+ * <p>
+ * The log starts with a header ({@link #MAGIC}, version, seed, starting level). Each record is
+ * the number of steps since the previous record as a variable-length integer, followed by one
+ * byte holding the key code in its low seven bits and the pressed flag in its top bit.
+ * A zero byte marks the end of a level; step counting restarts with the next level's world.
+ */
+public class InputRecorder {
+
+    /** "WALL" in ASCII, identifies an input log. */
+    public static final int MAGIC = 0x57414C4C;
+    /** Current log format version. */
+    public static final int VERSION = 1;
+    /** Event byte marking the end of a level. */
+    static final int LEVEL_END = 0;
+    /** Event byte flag for a key press (clear for a release). */
+    static final int PRESSED = 0x80;
+
+    private final DataOutputStream out;
+    private long lastStep = 0;
+
+    /**
+     * Create a log file and write its header.
+     *
+     * @param filename path of the log to create
+     * @param seed     seed the game's worlds are generated from
+     * @param level    level the recording starts on
+     * @throws IOException if the file cannot be written
+     */
+    public InputRecorder(String filename, long seed, int level) throws IOException {
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(filename)));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(seed);
+        out.writeByte(level);
+    }
+
+    /**
+     * Record a key event.
+     *
+     * @param step    index of the world step the event is applied on
+     * @param keyCode AWT key code (below 128)
+     * @param pressed true for a press, false for a release
+     */
+    public void record(long step, int keyCode, boolean pressed) {
+        write(step, (keyCode & 0x7f) | (pressed ? PRESSED : 0));
+    }
+
+    /**
+     * Mark the end of the current level and flush, so a log cut short by a crash still replays.
+     *
+     * @param step index of the last step played on the level
+     */
+    public void endLevel(long step) {
+        write(step, LEVEL_END);
+        lastStep = 0;
+        flush();
+    }
+
+    /** Flush buffered records to disk. */
+    public void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            e.printStackTrace(); // Log the error if something goes wrong
+        }
+    }
+
+    /** Flush and close the log. */
+    public void close() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            e.printStackTrace(); // Log the error if something goes wrong
+        }
+    }
+
+    private void write(long step, int event) {
+        try {
+            long delta = step - lastStep;
+            lastStep = step;
+            while ((delta & ~0x7fL) != 0) {
+                out.writeByte((int) ((delta & 0x7f) | 0x80));
+                delta >>>= 7;
+            }
+            out.writeByte((int) delta);
+            out.writeByte(event);
+        } catch (IOException e) {
+            e.printStackTrace(); // Log the error if something goes wrong
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package game;
+
+import city.cs.engine.StepEvent;
+import city.cs.engine.StepListener;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+/**
+ * Plays back a log written by {@link InputRecorder}, feeding each key event to a
+ * {@link PlayerController} on the same world step it was originally applied on.
+ */
+public class InputReplay implements StepListener {
+
+    private final DataInputStream in;
+    private final long seed;
+    private final int startLevel;
+
+    private GameWorld world;
+    private PlayerController controller;
+    private long lastStep = 0;
+    private long nextStep = -1;
+    private int nextEvent;
+    private boolean finished;
+
+    /**
+     * Open a log and read its header.
+     *
+     * @param filename path of the log
+     * @throws IOException if the file cannot be read or is not an input log
+     */
+    public InputReplay(String filename) throws IOException {
+        in = new DataInputStream(new BufferedInputStream(new FileInputStream(filename)));
+        if (in.readInt() != InputRecorder.MAGIC || in.readUnsignedByte() != InputRecorder.VERSION) {
+            throw new IOException(filename + " is not an input log");
+        }
+        seed = in.readLong();
+        startLevel = in.readUnsignedByte();
+    }
+
+    /** @return seed the recorded game's worlds were generated from */
+    public long getSeed() { return seed; }
+
+    /** @return level the recording starts on */
+    public int getStartLevel() { return startLevel; }
+
+    /**
+     * Drive a level's world from the log, continuing from the previous level's end marker.
+     *
+     * @param world      the world to drive
+     * @param controller the controller the recorded events are applied through
+     */
+    public void attach(GameWorld world, PlayerController controller) {
+        if (this.world != null) {
+            this.world.removeStepListener(this);
+        }
+        this.world = world;
+        this.controller = controller;
+        nextStep = -1;
+        world.addStepListener(this);
+    }
+
+    @Override
+    public void preStep(StepEvent e) {
+        long step = world.getStepCount();
+        while (!finished) {
+            if (nextStep < 0 && !readNext()) return;
+            if (nextStep > step) return;
+            if (nextEvent == InputRecorder.LEVEL_END) return; // the next level's world takes over
+            controller.apply(nextEvent & 0x7f, (nextEvent & InputRecorder.PRESSED) != 0);
+            nextStep = -1;
+        }
+    }
+
+    @Override
+    public void postStep(StepEvent e) { }
+
+    /**
+     * Read the next record.
+     *
+     * @return false once the log is exhausted
+     */
+    private boolean readNext() {
+        try {
+            long delta = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = in.readUnsignedByte();
+                delta |= (long) (b & 0x7f) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            nextEvent = in.readUnsignedByte();
+            nextStep = (lastStep += delta);
+            if (nextEvent == InputRecorder.LEVEL_END) lastStep = 0;
+            return true;
+        } catch (EOFException e) {
+            finished = true;
+        } catch (IOException e) {
+            e.printStackTrace(); // Log the error if something goes wrong
+            finished = true;
+        }
+        return false;
+    }
+}
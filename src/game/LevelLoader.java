@@ -0,0 +1,430 @@
+package game;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads level descriptions into {@link LevelSpec}s.
+ * <p>
+ * Level {@code n} is described by {@code data/levels/level<n>.lvl}, a text file of one
+ * setting per line (see the files themselves for the keywords). Running this class
+ * compiles each text file into a compact binary {@code .lvlb} next to it; when an
+ * up-to-date binary exists it is memory-mapped and read instead of parsing text. A
+ * packed {@link AssetArchive} holds compiled levels too and takes precedence over both,
+ * as long as it is not older than the text file. A compiled level that is out of date,
+ * of another format version, truncated or corrupt is passed over for the text file.
+ * Each level is loaded once and its spec cached.
+ * <pre>
+ *   java game.LevelLoader data/levels/level1.lvl data/levels/level2.lvl ...
+ * </pre>
+ */
+public final class LevelLoader {
+
+    /** Directory holding the level files. */
+    public static final String DIRECTORY = "data/levels";
+
+    /** First bytes of a binary level file: "LVL1". */
+    static final int MAGIC = 0x4C564C31;
+    static final int VERSION = 4;
+
+    private static final Map<Integer, LevelSpec> cache = new HashMap<>();
+
+    private LevelLoader() { }
+
+    /**
+     * Return the spec of a level, reading its file on first request.
+     *
+     * @param number level number, starting at 1
+     * @return the level's spec, or null if there is no such level
+     * @throws UncheckedIOException     if the level file cannot be read
+     * @throws IllegalArgumentException if the level file is malformed
+     */
+    public static synchronized LevelSpec load(int number) {
+        LevelSpec spec = cache.get(number);
+        if (spec != null) return spec;
+
+        Path text = Paths.get(DIRECTORY, "level" + number + ".lvl");
+        Path binary = Paths.get(DIRECTORY, "level" + number + ".lvlb");
+        AssetArchive archive = AssetArchive.get();
+        String packed = DIRECTORY + "/level" + number + ".lvlb";
+        try {
+            if (archive != null && archive.contains(packed) && !editedSince(text, archive.getLastModified())) {
+                spec = readOrParse(archive.bytes(packed), packed, text);
+            } else if (Files.exists(binary) && !editedSince(text, Files.getLastModifiedTime(binary))) {
+                spec = readOrParse(map(binary), binary.toString(), text);
+            } else if (Files.exists(text)) {
+                spec = parse(text);
+            } else {
+                return null;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read level " + number, e);
+        }
+        cache.put(number, spec);
+        return spec;
+    }
+
+    /**
+     * @return true if a text level file exists and was written after a compiled copy of it
+     */
+    private static boolean editedSince(Path text, FileTime compiled) throws IOException {
+        return Files.exists(text) && Files.getLastModifiedTime(text).compareTo(compiled) > 0;
+    }
+
+    /**
+     * Read a binary level, parsing the text file instead if the binary was written by
+     * another version of the format or is damaged.
+     */
+    private static LevelSpec readOrParse(ByteBuffer in, String source, Path text) throws IOException {
+        try {
+            return read(in, source);
+        } catch (IllegalArgumentException e) {
+            if (!Files.exists(text)) throw e;
+            return parse(text);
+        }
+    }
+
+    /**
+     * @param number level number
+     * @return true if a file describes that level
+     */
+    public static boolean exists(int number) {
+        AssetArchive archive = AssetArchive.get();
+        if (archive != null && archive.contains(DIRECTORY + "/level" + number + ".lvlb")) return true;
+        return Files.exists(Paths.get(DIRECTORY, "level" + number + ".lvl"))
+                || Files.exists(Paths.get(DIRECTORY, "level" + number + ".lvlb"));
+    }
+
+    /**
+     * Parse a text level file.
+     *
+     * @param file path to the file
+     * @return the spec it describes
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if a line is malformed
+     */
+    public static LevelSpec parse(Path file) throws IOException {
+        LevelSpec.Builder b = new LevelSpec.Builder();
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (int n = 0; n < lines.size(); n++) {
+            String line = lines.get(n).trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            String[] t = line.split("\\s+");
+            try {
+                parseLine(b, t, line);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException(file + ":" + (n + 1) + ": " + e.getMessage(), e);
+            }
+        }
+        return b.build();
+    }
+
+    private static void parseLine(LevelSpec.Builder b, String[] t, String line) {
+        switch (t[0]) {
+            case "level": b.number = Integer.parseInt(t[1]); break;
+            case "name": b.name = line.substring(t[0].length()).trim(); break;
+            case "background":
+                b.background = t[1];
+                if (t.length > 2) b.backgroundScroll = Float.parseFloat(t[2]);
+                break;
+            case "layer": b.layers.add(ParallaxLayer.tiled(t[1], Float.parseFloat(t[2]))); break;
+            case "music": b.music = t[1]; break;
+            case "platform":
+                b.platformImage = t[1];
+                if (t.length > 2) b.platformScale = Float.parseFloat(t[2]);
+                break;
+            case "ground":
+                b.groundImage = t[1];
+                if (t.length > 2) b.groundScale = Float.parseFloat(t[2]);
+                break;
+            case "stars":
+                b.starInterval = Float.parseFloat(t[1]);
+                b.starChance = Float.parseFloat(t[2]);
+                break;
+            case "moving": b.movingChance = Float.parseFloat(t[1]); break;
+            case "overlay":
+                b.overlayImage = t[1];
+                b.overlayChance = Float.parseFloat(t[2]);
+                b.overlayFriction = Float.parseFloat(t[3]);
+                break;
+            case "static-spike":
+                b.staticSpikeImage = t[1];
+                b.staticSpikeChance = Float.parseFloat(t[2]);
+                break;
+            case "enemy":
+                b.enemyChance = Float.parseFloat(t[1]);
+                if (t.length > 2) {
+                    b.enemyOffset = Float.parseFloat(t[2]);
+                    b.enemyScale = Float.parseFloat(t[3]);
+                    b.enemyShot = t[4];
+                    b.enemySprites = Arrays.copyOfRange(t, 5, t.length);
+                }
+                break;
+            case "fire":
+                b.firePeriod = Integer.parseInt(t[1]);
+                b.fireMaxPerStep = Integer.parseInt(t[2]);
+                if (t.length > 3) {
+                    b.fireBurst = Integer.parseInt(t[3]);
+                    b.fireBurstGap = Integer.parseInt(t[4]);
+                }
+                break;
+            case "bullets": b.bulletCapacity = Integer.parseInt(t[1]); break;
+            case "falling-spikes":
+                b.fallingInterval = Integer.parseInt(t[1]);
+                b.fallingSound = t[2];
+                b.fallingImages = Arrays.copyOfRange(t, 3, t.length);
+                break;
+            case "spikes-after": b.spikesAfterStars = Integer.parseInt(t[1]); break;
+            case "finish": b.starsToFinish = Integer.parseInt(t[1]); break;
+            case "patrol":
+                b.patrols.add(new LevelSpec.PatrolSpec(
+                        PatrolEnemy.PatrolMode.valueOf(t[1]),
+                        Integer.parseInt(t[2]),
+                        Float.parseFloat(t[3]),
+                        Float.parseFloat(t[4]),
+                        Float.parseFloat(t[5]),
+                        Integer.parseInt(t[6]),
+                        Float.parseFloat(t[7]),
+                        t[8].split(","),
+                        t[9].split(",")));
+                break;
+            default:
+                throw new IllegalArgumentException("unknown setting '" + t[0] + "'");
+        }
+    }
+
+    /**
+     * Read a binary level file by memory-mapping it.
+     *
+     * @param file path to the file
+     * @return the spec it holds
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a level file of this version
+     */
+    public static LevelSpec read(Path file) throws IOException {
+        return read(map(file), file.toString());
+    }
+
+    private static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * Read a binary level from a buffer, e.g. a slice of the {@link AssetArchive}.
+     *
+     * @param in     buffer positioned at the start of the level
+     * @param source name of where the buffer came from, for error messages
+     * @return the spec it holds
+     * @throws IllegalArgumentException if the buffer does not hold a level of this version,
+     *                                  or the level is truncated or corrupt
+     */
+    public static LevelSpec read(ByteBuffer in, String source) {
+        try {
+            return readLevel(in, source);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException
+                 | IllegalStateException e) {
+            throw new IllegalArgumentException(source + " is truncated or corrupt", e);
+        }
+    }
+
+    private static LevelSpec readLevel(ByteBuffer in, String source) {
+        if (in.getInt() != MAGIC || in.getShort() != VERSION) {
+            throw new IllegalArgumentException(source + " is not a version " + VERSION + " level file");
+        }
+        LevelSpec.Builder b = new LevelSpec.Builder();
+        b.number = in.getShort();
+        b.name = readString(in);
+        b.background = readString(in);
+        b.backgroundScroll = in.getFloat();
+        int layers = in.getShort();
+        for (int i = 0; i < layers; i++) {
+            b.layers.add(ParallaxLayer.tiled(readString(in), in.getFloat()));
+        }
+        b.music = readString(in);
+        b.platformImage = readString(in);
+        b.platformScale = in.getFloat();
+        b.groundImage = readString(in);
+        b.groundScale = in.getFloat();
+        b.starInterval = in.getFloat();
+        b.starChance = in.getFloat();
+        b.movingChance = in.getFloat();
+        b.overlayImage = readString(in);
+        b.overlayChance = in.getFloat();
+        b.overlayFriction = in.getFloat();
+        b.staticSpikeImage = readString(in);
+        b.staticSpikeChance = in.getFloat();
+        b.enemyChance = in.getFloat();
+        b.enemyOffset = in.getFloat();
+        b.enemyScale = in.getFloat();
+        b.enemyShot = readString(in);
+        b.enemySprites = readStrings(in);
+        b.firePeriod = in.getShort();
+        b.fireMaxPerStep = in.getShort();
+        b.fireBurst = in.getShort();
+        b.fireBurstGap = in.getShort();
+        b.bulletCapacity = in.getInt();
+        b.fallingInterval = in.getInt();
+        b.fallingSound = readString(in);
+        b.fallingImages = readStrings(in);
+        b.spikesAfterStars = in.getShort();
+        b.starsToFinish = in.getShort();
+        int patrols = in.getShort();
+        for (int i = 0; i < patrols; i++) {
+            b.patrols.add(new LevelSpec.PatrolSpec(
+                    PatrolEnemy.PatrolMode.values()[in.get()],
+                    in.getShort(),
+                    in.getFloat(),
+                    in.getFloat(),
+                    in.getFloat(),
+                    in.getInt(),
+                    in.getFloat(),
+                    readStrings(in),
+                    readStrings(in)));
+        }
+        return b.build();
+    }
+
+    /**
+     * Write a spec as a binary level file.
+     *
+     * @param spec the spec
+     * @param file path to write to
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(LevelSpec spec, Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file.toFile())))) {
+            write(spec, out);
+        }
+    }
+
+    /**
+     * Write a spec in the binary level format.
+     *
+     * @param spec the spec
+     * @param out  stream to write to; left open
+     * @throws IOException if writing fails
+     */
+    public static void write(LevelSpec spec, DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeShort(spec.getNumber());
+        writeString(out, spec.getName());
+        writeString(out, spec.getBackground());
+        out.writeFloat(spec.getBackgroundScroll());
+        ParallaxLayer[] layers = spec.getBackgroundLayers();
+        out.writeShort(layers.length - 1);
+        for (int i = 1; i < layers.length; i++) {
+            writeString(out, layers[i].getImagePath());
+            out.writeFloat(layers[i].getScrollFactor());
+        }
+        writeString(out, spec.getMusic());
+        writeString(out, spec.getPlatformImage());
+        out.writeFloat(spec.getPlatformScale());
+        writeString(out, spec.getGroundImage());
+        out.writeFloat(spec.getGroundScale());
+        out.writeFloat(spec.getStarInterval());
+        out.writeFloat(spec.getStarChance());
+        out.writeFloat(spec.getMovingChance());
+        writeString(out, spec.getOverlayImage());
+        out.writeFloat(spec.getOverlayChance());
+        out.writeFloat(spec.getOverlayFriction());
+        writeString(out, spec.getStaticSpikeImage());
+        out.writeFloat(spec.getStaticSpikeChance());
+        out.writeFloat(spec.getEnemyChance());
+        out.writeFloat(spec.getEnemyOffset());
+        out.writeFloat(spec.getEnemyScale());
+        writeString(out, spec.getEnemyShot());
+        writeStrings(out, spec.getEnemySprites());
+        out.writeShort(spec.getFirePeriod());
+        out.writeShort(spec.getFireMaxPerStep());
+        out.writeShort(spec.getFireBurst());
+        out.writeShort(spec.getFireBurstGap());
+        out.writeInt(spec.getBulletCapacity());
+        out.writeInt(spec.getFallingInterval());
+        writeString(out, spec.getFallingSound());
+        writeStrings(out, spec.getFallingImages());
+        out.writeShort(spec.getSpikesAfterStars());
+        out.writeShort(spec.getStarsToFinish());
+        out.writeShort(spec.getPatrols().size());
+        for (LevelSpec.PatrolSpec p : spec.getPatrols()) {
+            out.writeByte(p.getMode().ordinal());
+            out.writeShort(p.getAfterStars());
+            out.writeFloat(p.getSpawnAbove());
+            out.writeFloat(p.getLeftBound());
+            out.writeFloat(p.getRightBound());
+            out.writeInt(p.getFrameDelay());
+            out.writeFloat(p.getScale());
+            writeStrings(out, p.getLeftFrames());
+            writeStrings(out, p.getRightFrames());
+        }
+    }
+
+    /** Strings are a length (-1 for null) followed by UTF-8 bytes. */
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeShort(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeStrings(DataOutputStream out, String[] strings) throws IOException {
+        out.writeShort(strings.length);
+        for (String s : strings) writeString(out, s);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getShort();
+        if (length == -1) return null;
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String[] readStrings(ByteBuffer in) {
+        String[] strings = new String[in.getShort()];
+        for (int i = 0; i < strings.length; i++) strings[i] = readString(in);
+        return strings;
+    }
+
+    /**
+     * Compile text level files into binary files next to them.
+     *
+     * @param args paths to {@code .lvl} files; all files in {@link #DIRECTORY} if none are given
+     * @throws IOException if a file cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            File[] files = new File(DIRECTORY).listFiles((d, name) -> name.endsWith(".lvl"));
+            args = files == null ? new String[0] : Arrays.stream(files).map(File::getPath).sorted().toArray(String[]::new);
+        }
+        for (String arg : args) {
+            Path text = Paths.get(arg);
+            Path binary = Paths.get(arg + "b");
+            LevelSpec spec = parse(text);
+            write(spec, binary);
+            System.out.printf("%s -> %s (%d bytes)%n", text, binary, Files.size(binary));
+        }
+    }
+}
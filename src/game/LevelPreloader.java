@@ -0,0 +1,97 @@
+package game;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Builds the next level's world on a background thread while the current level is played.
+ * <p>
+ * Decoding a level's images and creating its bodies takes long enough to stall a frame,
+ * so the game asks for the next level as soon as the current one starts. When the player
+ * finishes, {@link #take(int)} hands over the prepared world, waiting only if it is not
+ * finished yet. A prepared world is never stepped until it is taken.
+ */
+public final class LevelPreloader {
+
+    private final IntFunction<GameWorld> builder;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "level-preload");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY); // never compete with the physics thread
+        return t;
+    });
+
+    private Future<GameWorld> pending;
+    private int pendingLevel;
+
+    /**
+     * @param builder builds the world of a level number, or returns null if there is no such level
+     */
+    public LevelPreloader(IntFunction<GameWorld> builder) {
+        this.builder = builder;
+    }
+
+    /**
+     * Start building a level in the background, replacing any level still being prepared.
+     *
+     * @param level level number
+     */
+    public synchronized void prepare(int level) {
+        cancel();
+        pendingLevel = level;
+        pending = executor.submit(() -> builder.apply(level));
+    }
+
+    /**
+     * Return a prepared level, waiting for its preparation to finish if needed.
+     *
+     * @param level level number
+     * @return the prepared world, or null if that level was not prepared, does not exist or failed to build
+     */
+    public synchronized GameWorld take(int level) {
+        if (pending == null || pendingLevel != level) {
+            return null;
+        }
+        Future<GameWorld> f = pending;
+        pending = null;
+        try {
+            return f.get();
+        } catch (ExecutionException | CancellationException e) {
+            e.printStackTrace(); // Log the error if something goes wrong
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Abandon the level being prepared, if any, disposing its world if it was already built.
+     */
+    public synchronized void cancel() {
+        if (pending == null) return;
+        Future<GameWorld> f = pending;
+        pending = null;
+        if (f.cancel(false)) return;
+        if (f.isDone()) {
+            try {
+                GameWorld world = f.get();
+                if (world != null) world.dispose();
+            } catch (ExecutionException | CancellationException | InterruptedException ignored) {
+                // nothing was built, so there is nothing to dispose
+            }
+        }
+    }
+
+    /**
+     * Abandon any preparation and stop the background thread.
+     */
+    public synchronized void shutdown() {
+        cancel();
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,345 @@
+package game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable description of one level: its images, music, generation probabilities,
+ * enemies and hazards.
+ * <p>
+ * Specs are read from level files by {@link LevelLoader}, so a new level only needs a
+ * new file. {@link GameWorld} takes every level-specific decision from its spec.
+ */
+public final class LevelSpec {
+
+    private final int number;
+    private final String name;
+    private final String background;
+    private final ParallaxLayer[] backgroundLayers;
+    private final String music;
+    private final String platformImage;
+    private final float platformScale;
+    private final String groundImage;
+    private final float groundScale;
+    private final float starInterval;
+    private final float starChance;
+    private final float movingChance;
+    private final String overlayImage;
+    private final float overlayChance;
+    private final float overlayFriction;
+    private final String staticSpikeImage;
+    private final float staticSpikeChance;
+    private final float enemyChance;
+    private final float enemyOffset;
+    private final float enemyScale;
+    private final String enemyShot;
+    private final String[] enemySprites;
+    private final int firePeriod;
+    private final int fireMaxPerStep;
+    private final int fireBurst;
+    private final int fireBurstGap;
+    private final int bulletCapacity;
+    private final int fallingInterval;
+    private final String fallingSound;
+    private final String[] fallingImages;
+    private final int spikesAfterStars;
+    private final int starsToFinish;
+    private final List<PatrolSpec> patrols;
+
+    /** A patrol enemy spawned once the player has collected enough stars. */
+    public static final class PatrolSpec {
+        private final PatrolEnemy.PatrolMode mode;
+        private final int afterStars;
+        private final float spawnAbove;
+        private final float leftBound;
+        private final float rightBound;
+        private final int frameDelay;
+        private final float scale;
+        private final String[] leftFrames;
+        private final String[] rightFrames;
+
+        /**
+         * @param mode        patrol behaviour
+         * @param afterStars  stars the player must hold before it spawns; 0 spawns it with the level
+         * @param spawnAbove  height above the player it spawns at
+         * @param leftBound   leftmost x-coordinate it patrols to
+         * @param rightBound  rightmost x-coordinate it patrols to
+         * @param frameDelay  milliseconds between animation frames
+         * @param scale       height of its images in world units
+         * @param leftFrames  images when facing left, in frame order
+         * @param rightFrames images when facing right, in frame order
+         */
+        public PatrolSpec(PatrolEnemy.PatrolMode mode, int afterStars, float spawnAbove, float leftBound,
+                          float rightBound, int frameDelay, float scale, String[] leftFrames, String[] rightFrames) {
+            this.mode = mode;
+            this.afterStars = afterStars;
+            this.spawnAbove = spawnAbove;
+            this.leftBound = leftBound;
+            this.rightBound = rightBound;
+            this.frameDelay = frameDelay;
+            this.scale = scale;
+            this.leftFrames = leftFrames.clone();
+            this.rightFrames = rightFrames.clone();
+        }
+
+        /** @return patrol behaviour */
+        public PatrolEnemy.PatrolMode getMode() { return mode; }
+
+        /** @return stars the player must hold before it spawns */
+        public int getAfterStars() { return afterStars; }
+
+        /** @return height above the player it spawns at */
+        public float getSpawnAbove() { return spawnAbove; }
+
+        /** @return leftmost x-coordinate it patrols to */
+        public float getLeftBound() { return leftBound; }
+
+        /** @return rightmost x-coordinate it patrols to */
+        public float getRightBound() { return rightBound; }
+
+        /** @return milliseconds between animation frames */
+        public int getFrameDelay() { return frameDelay; }
+
+        /** @return height of its images in world units */
+        public float getScale() { return scale; }
+
+        /** @return images when facing left */
+        public String[] getLeftFrames() { return leftFrames.clone(); }
+
+        /** @return images when facing right */
+        public String[] getRightFrames() { return rightFrames.clone(); }
+    }
+
+    /**
+     * Mutable collector for a spec's fields, filled in by the loader. Defaults match level 1.
+     */
+    static final class Builder {
+        int number;
+        String name = "";
+        String background;
+        float backgroundScroll;
+        final List<ParallaxLayer> layers = new ArrayList<>();
+        String music;
+        String platformImage;
+        float platformScale = 1.6f;
+        String groundImage;
+        float groundScale = 2f;
+        float starInterval = 15f;
+        float starChance = 0.9f;
+        float movingChance = 0.3f;
+        String overlayImage;
+        float overlayChance;
+        float overlayFriction;
+        String staticSpikeImage;
+        float staticSpikeChance;
+        float enemyChance = 0.2f;
+        float enemyOffset = 1.65f;
+        float enemyScale = 2f;
+        String enemyShot;
+        String[] enemySprites = new String[0];
+        int firePeriod = 180;
+        int fireMaxPerStep = 2;
+        int fireBurst = 1;
+        int fireBurstGap = 1;
+        int bulletCapacity;
+        int fallingInterval;
+        String fallingSound;
+        String[] fallingImages = new String[0];
+        int spikesAfterStars = 1;
+        int starsToFinish = 5;
+        final List<PatrolSpec> patrols = new ArrayList<>();
+
+        LevelSpec build() {
+            if (background == null || platformImage == null || groundImage == null) {
+                throw new IllegalStateException("Level " + number + " needs a background, platform and ground");
+            }
+            if (enemyChance > 0 && (enemySprites.length == 0 || enemyShot == null)) {
+                throw new IllegalStateException("Level " + number + " spawns enemies but has no enemy sprites or shot");
+            }
+            if (firePeriod < 1 || fireMaxPerStep < 1 || fireBurst < 1 || fireBurstGap < 1) {
+                throw new IllegalStateException("Level " + number + " has a fire period, cap, burst or gap below 1");
+            }
+            if (bulletCapacity < 0) {
+                throw new IllegalStateException("Level " + number + " has a negative bullet capacity");
+            }
+            if (fallingInterval > 0 && fallingImages.length == 0) {
+                throw new IllegalStateException("Level " + number + " drops spikes but has no spike images");
+            }
+            return new LevelSpec(this);
+        }
+    }
+
+    private LevelSpec(Builder b) {
+        number = b.number;
+        name = b.name;
+        background = b.background;
+        List<ParallaxLayer> layers = new ArrayList<>();
+        layers.add(b.backgroundScroll == 0 ? ParallaxLayer.fixed(b.background)
+                : ParallaxLayer.tiled(b.background, b.backgroundScroll));
+        layers.addAll(b.layers);
+        backgroundLayers = layers.toArray(new ParallaxLayer[0]);
+        music = b.music;
+        platformImage = b.platformImage;
+        platformScale = b.platformScale;
+        groundImage = b.groundImage;
+        groundScale = b.groundScale;
+        starInterval = b.starInterval;
+        starChance = b.starChance;
+        movingChance = b.movingChance;
+        overlayImage = b.overlayImage;
+        overlayChance = b.overlayChance;
+        overlayFriction = b.overlayFriction;
+        staticSpikeImage = b.staticSpikeImage;
+        staticSpikeChance = b.staticSpikeChance;
+        enemyChance = b.enemyChance;
+        enemyOffset = b.enemyOffset;
+        enemyScale = b.enemyScale;
+        enemyShot = b.enemyShot;
+        enemySprites = b.enemySprites.clone();
+        firePeriod = b.firePeriod;
+        fireMaxPerStep = b.fireMaxPerStep;
+        fireBurst = b.fireBurst;
+        fireBurstGap = b.fireBurstGap;
+        bulletCapacity = b.bulletCapacity;
+        fallingInterval = b.fallingInterval;
+        fallingSound = b.fallingSound;
+        fallingImages = b.fallingImages.clone();
+        spikesAfterStars = b.spikesAfterStars;
+        starsToFinish = b.starsToFinish;
+        patrols = Collections.unmodifiableList(new ArrayList<>(b.patrols));
+    }
+
+    /**
+     * @return every image file the level uses, for preloading
+     */
+    public String[] getImages() {
+        Set<String> images = new LinkedHashSet<>();
+        for (ParallaxLayer layer : backgroundLayers) {
+            images.add(layer.getImagePath());
+        }
+        images.add(platformImage);
+        images.add(groundImage);
+        images.add("data/star.png");
+        if (overlayImage != null) images.add(overlayImage);
+        if (staticSpikeImage != null) images.add(staticSpikeImage);
+        if (enemyShot != null) images.add(enemyShot);
+        images.addAll(Arrays.asList(enemySprites));
+        images.addAll(Arrays.asList(fallingImages));
+        for (PatrolSpec p : patrols) {
+            images.addAll(Arrays.asList(p.leftFrames));
+            images.addAll(Arrays.asList(p.rightFrames));
+        }
+        return images.toArray(new String[0]);
+    }
+
+    /** @return the level's number, starting at 1 */
+    public int getNumber() { return number; }
+
+    /** @return the level's display name */
+    public String getName() { return name; }
+
+    /** @return path to the background image */
+    public String getBackground() { return background; }
+
+    /**
+     * @return how fast the background scrolls relative to the world, or 0 if it stays
+     *         fixed and fills the view
+     */
+    public float getBackgroundScroll() { return backgroundLayers[0].getScrollFactor(); }
+
+    /**
+     * @return the background followed by the layers drawn in front of it, back to front
+     */
+    public ParallaxLayer[] getBackgroundLayers() { return backgroundLayers.clone(); }
+
+    /** @return path to the looping background music, or null for silence */
+    public String getMusic() { return music; }
+
+    /** @return path to the platform image */
+    public String getPlatformImage() { return platformImage; }
+
+    /** @return height of the platform image in world units */
+    public float getPlatformScale() { return platformScale; }
+
+    /** @return path to the ground tile image */
+    public String getGroundImage() { return groundImage; }
+
+    /** @return height of the ground tile image in world units */
+    public float getGroundScale() { return groundScale; }
+
+    /** @return height the player climbs between star spawn attempts */
+    public float getStarInterval() { return starInterval; }
+
+    /** @return chance a star spawns at each attempt */
+    public float getStarChance() { return starChance; }
+
+    /** @return chance a generated platform moves */
+    public float getMovingChance() { return movingChance; }
+
+    /** @return path to the image laid over some platforms (e.g. snow), or null for none */
+    public String getOverlayImage() { return overlayImage; }
+
+    /** @return chance a platform gets the overlay */
+    public float getOverlayChance() { return overlayChance; }
+
+    /** @return friction of platforms with the overlay */
+    public float getOverlayFriction() { return overlayFriction; }
+
+    /** @return path to the image of spikes standing on platforms, or null for none */
+    public String getStaticSpikeImage() { return staticSpikeImage; }
+
+    /** @return chance a still platform gets a spike */
+    public float getStaticSpikeChance() { return staticSpikeChance; }
+
+    /** @return chance a still platform gets a shooting enemy */
+    public float getEnemyChance() { return enemyChance; }
+
+    /** @return height above its platform an enemy stands at */
+    public float getEnemyOffset() { return enemyOffset; }
+
+    /** @return height of the enemy images in world units */
+    public float getEnemyScale() { return enemyScale; }
+
+    /** @return path to the image of enemy projectiles */
+    public String getEnemyShot() { return enemyShot; }
+
+    /** @return enemy animation frames, in order */
+    public String[] getEnemySprites() { return enemySprites.clone(); }
+
+    /** @return steps between an enemy's volleys */
+    public int getFirePeriod() { return firePeriod; }
+
+    /** @return most enemy projectiles spawned in one step */
+    public int getFireMaxPerStep() { return fireMaxPerStep; }
+
+    /** @return shots in each enemy volley */
+    public int getFireBurst() { return fireBurst; }
+
+    /** @return steps between the shots of a volley */
+    public int getFireBurstGap() { return fireBurstGap; }
+
+    /** @return most enemy shots in flight as lightweight bullets, or 0 if enemies fire projectile bodies */
+    public int getBulletCapacity() { return bulletCapacity; }
+
+    /** @return steps between falling spikes, or 0 if the level has none */
+    public int getFallingInterval() { return fallingInterval; }
+
+    /** @return path to the sound a falling spike makes when it breaks, or null */
+    public String getFallingSound() { return fallingSound; }
+
+    /** @return images falling spikes are picked from */
+    public String[] getFallingImages() { return fallingImages.clone(); }
+
+    /** @return stars the player must collect before spikes start falling */
+    public int getSpikesAfterStars() { return spikesAfterStars; }
+
+    /** @return stars the player must collect to finish the level */
+    public int getStarsToFinish() { return starsToFinish; }
+
+    /** @return patrol enemies of the level */
+    public List<PatrolSpec> getPatrols() { return patrols; }
+}
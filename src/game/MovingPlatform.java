@@ -0,0 +1,37 @@
+package game;
+
+import city.cs.engine.Shape;
+import city.cs.engine.SolidFixture;
+import city.cs.engine.Walker;
+import city.cs.engine.World;
+
+/**
+ * A platform that slides back and forth under its own velocity.
+ * <p>
+ * Unlike a teleported static body, a velocity-driven body carries whatever stands on it
+ * through friction. It is a non-rotating {@link Walker} with gravity switched off and a
+ * very high density, so riders barely disturb it; {@link MovingPlatforms} cancels any
+ * vertical drift they do cause.
+ */
+public class MovingPlatform extends Walker {
+
+    /** Density of the platform; high enough that the player's weight hardly moves it. */
+    private static final float DENSITY = 1000f;
+
+    private final SolidFixture fixture;
+
+    /**
+     * Create a moving platform. Its motion is driven by a {@link MovingPlatforms} system.
+     *
+     * @param world the physics world
+     * @param shape the platform's collision shape
+     */
+    public MovingPlatform(World world, Shape shape) {
+        super(world);
+        fixture = new SolidFixture(this, shape, DENSITY);
+        setGravityScale(0);
+    }
+
+    /** @return the platform's solid fixture, e.g. to change its friction */
+    public SolidFixture getFixture() { return fixture; }
+}
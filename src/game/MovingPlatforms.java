@@ -0,0 +1,120 @@
+package game;
+
+import org.jbox2d.common.Vec2;
+
+import java.util.Arrays;
+
+/**
+ * Drives every moving platform in a world from flat primitive arrays.
+ * <p>
+ * Each platform's travel bounds, speed and resting height are stored in parallel float
+ * arrays indexed by slot. Once per step the platform's velocity is set to its speed and
+ * reversed at its bounds, or where something it cannot push, such as a star spawned in its
+ * lane, has held it still for a few steps; nothing is allocated per platform, and removal
+ * swaps the last slot into the hole.
+ */
+public class MovingPlatforms {
+
+    private MovingPlatform[] bodies = new MovingPlatform[16];
+    private float[] minX = new float[16];
+    private float[] maxX = new float[16];
+    private float[] speed = new float[16];
+    private float[] baseY = new float[16];
+    private float[] lastX = new float[16];
+    private int[] stalled = new int[16];
+    private int count = 0;
+
+    /** Vertical drift allowed before a platform is snapped back to its height. */
+    private static final float DRIFT_TOLERANCE = 0.01f;
+    /** Horizontal movement per step below which a platform counts as held still. */
+    private static final float STALL_DISTANCE = 0.001f;
+    /** Consecutive steps held still after which a platform turns back. */
+    private static final int STALL_STEPS = 3;
+
+    /** Reused for every velocity and position write, so updates allocate nothing. */
+    private final Vec2 scratch = new Vec2();
+
+    /**
+     * Start driving a platform between two x-bounds at its current height.
+     *
+     * @param platform the platform, already positioned
+     * @param left     leftmost x-coordinate of its centre
+     * @param right    rightmost x-coordinate of its centre
+     * @param velocity horizontal speed in world units per second; the sign sets the initial direction
+     */
+    public void add(MovingPlatform platform, float left, float right, float velocity) {
+        if (count == bodies.length) {
+            int n = count * 2;
+            bodies = Arrays.copyOf(bodies, n);
+            minX = Arrays.copyOf(minX, n);
+            maxX = Arrays.copyOf(maxX, n);
+            speed = Arrays.copyOf(speed, n);
+            baseY = Arrays.copyOf(baseY, n);
+            lastX = Arrays.copyOf(lastX, n);
+            stalled = Arrays.copyOf(stalled, n);
+        }
+        bodies[count] = platform;
+        minX[count] = left;
+        maxX[count] = right;
+        speed[count] = velocity;
+        baseY[count] = platform.getPosition().y;
+        lastX[count] = platform.getPosition().x;
+        stalled[count] = 0;
+        count++;
+        platform.setLinearVelocity(scratch.set(velocity, 0));
+    }
+
+    /**
+     * Stop driving a platform.
+     *
+     * @param platform the platform to remove
+     * @return true if the platform was being driven
+     */
+    public boolean remove(Object platform) {
+        for (int i = 0; i < count; i++) {
+            if (bodies[i] == platform) {
+                int last = --count;
+                bodies[i] = bodies[last];
+                minX[i] = minX[last];
+                maxX[i] = maxX[last];
+                speed[i] = speed[last];
+                baseY[i] = baseY[last];
+                lastX[i] = lastX[last];
+                stalled[i] = stalled[last];
+                bodies[last] = null;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Set each platform's velocity for the coming step, reversing at its bounds or once it
+     * has been blocked for {@link #STALL_STEPS} steps, and cancelling any vertical drift
+     * caused by riders or impacts.
+     *
+     * @param grid spatial index to keep up to date with the platforms' positions
+     */
+    public void update(SpatialGrid<? super MovingPlatform> grid) {
+        for (int i = 0; i < count; i++) {
+            MovingPlatform p = bodies[i];
+            Vec2 pos = p.getPosition();
+            float v = speed[i];
+            stalled[i] = Math.abs(pos.x - lastX[i]) < STALL_DISTANCE ? stalled[i] + 1 : 0;
+            lastX[i] = pos.x;
+            if ((pos.x >= maxX[i] && v > 0) || (pos.x <= minX[i] && v < 0) || stalled[i] >= STALL_STEPS) {
+                v = -v;
+                speed[i] = v;
+                stalled[i] = 0;
+            }
+            if (Math.abs(pos.y - baseY[i]) > DRIFT_TOLERANCE) {
+                p.setPosition(scratch.set(pos.x, baseY[i]));
+            }
+            p.setLinearVelocity(scratch.set(v, 0));
+            grid.update(p, pos.x, baseY[i]);
+        }
+    }
+
+    /** @return the number of platforms being driven */
+    public int size() { return count; }
+}
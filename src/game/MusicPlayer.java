@@ -0,0 +1,243 @@
+package game;
+
+import javax.sound.sampled.*;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Streams looping background music from disk instead of decoding whole tracks into a Clip.
+ * <p>
+ * A background thread reads one small chunk at a time from the current track and writes it
+ * to a dedicated {@link SourceDataLine}, whose few-chunk buffer acts as the ring buffer between
+ * the decoder and the sound card. The next loop of a track is opened ahead of time and
+ * continues in the same chunk as the end of the previous loop, so looping is gapless.
+ * Switching tracks crossfades on the streaming thread, so callers never block.
+ */
+public final class MusicPlayer {
+
+    /** Frames read per chunk; 2048 frames is about 46ms at 44.1kHz. */
+    private static final int CHUNK_FRAMES = 2048;
+    /** Number of chunks buffered in the output line. */
+    private static final int BUFFERED_CHUNKS = 4;
+
+    private static MusicPlayer instance;
+
+    /** Pending track change, picked up by the streaming thread at the next chunk. */
+    private final AtomicReference<Request> request = new AtomicReference<>();
+    private SourceDataLine line;
+
+    // Streaming-thread state
+    private Track current;
+    private Track previous;
+    private int fadeFrames;
+    private int fadePosition;
+
+    /** A track change: a file to fade to (or null for silence) over a number of milliseconds. */
+    private static final class Request {
+        final String filename;
+        final int fadeMillis;
+
+        Request(String filename, int fadeMillis) {
+            this.filename = filename;
+            this.fadeMillis = fadeMillis;
+        }
+    }
+
+    /** A looping, streamed audio file. */
+    private static final class Track {
+        final String filename;
+        private AudioInputStream stream;
+        private AudioInputStream nextLoop;
+
+        Track(String filename) throws IOException, UnsupportedAudioFileException {
+            this.filename = filename;
+            this.stream = open(filename);
+            this.nextLoop = open(filename);
+        }
+
+        /**
+         * Fill {@code buf} completely, wrapping to the pre-opened next loop at end of file.
+         */
+        void read(byte[] buf) throws IOException, UnsupportedAudioFileException {
+            int off = 0;
+            boolean wrapped = false;
+            while (off < buf.length) {
+                int n = stream.read(buf, off, buf.length - off);
+                if (n < 0) {
+                    if (wrapped) {
+                        // empty file: pad with silence rather than spin
+                        Arrays.fill(buf, off, buf.length, (byte) 0);
+                        return;
+                    }
+                    stream.close();
+                    stream = nextLoop;
+                    nextLoop = null;
+                    wrapped = true;
+                } else {
+                    off += n;
+                }
+            }
+            if (nextLoop == null) {
+                nextLoop = open(filename);
+            }
+        }
+
+        void close() {
+            try {
+                stream.close();
+                if (nextLoop != null) nextLoop.close();
+            } catch (IOException ignored) {
+            }
+        }
+
+        private static AudioInputStream open(String filename) throws IOException, UnsupportedAudioFileException {
+            AudioInputStream source = AudioSystem.getAudioInputStream(AssetArchive.open(filename));
+            AudioFormat f = source.getFormat();
+            if (!(f.getEncoding() == AudioFormat.Encoding.PCM_SIGNED && f.getSampleSizeInBits() == 16)) {
+                source = AudioSystem.getAudioInputStream(
+                        new AudioFormat(f.getSampleRate(), 16, f.getChannels(), true, false), source);
+            }
+            return AudioSystem.getAudioInputStream(SoundMixer.FORMAT, source);
+        }
+    }
+
+    private MusicPlayer() { }
+
+    /**
+     * Return the shared music player, opening its output line and streaming thread on first use.
+     *
+     * @return the process-wide music player
+     */
+    public static synchronized MusicPlayer get() {
+        if (instance == null) {
+            instance = new MusicPlayer();
+            instance.open();
+        }
+        return instance;
+    }
+
+    /**
+     * Open the output line and start the streaming thread.
+     */
+    private void open() {
+        try {
+            line = AudioSystem.getSourceDataLine(SoundMixer.FORMAT);
+            line.open(SoundMixer.FORMAT, CHUNK_FRAMES * SoundMixer.FORMAT.getFrameSize() * BUFFERED_CHUNKS);
+            line.start();
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            System.err.println("Music disabled: " + e.getMessage());
+            line = null;
+            return;
+        }
+        Thread streamer = new Thread(this::streamLoop, "music-stream");
+        streamer.setDaemon(true);
+        streamer.start();
+    }
+
+    /**
+     * Crossfade from the current track to a new looping track. Returns immediately;
+     * the file is opened on the streaming thread.
+     *
+     * @param filename   path to the music file, or null to fade to silence
+     * @param fadeMillis crossfade length in milliseconds, 0 to cut
+     */
+    public void crossfadeTo(String filename, int fadeMillis) {
+        request.set(new Request(filename, fadeMillis));
+    }
+
+    /**
+     * Fade the current track out.
+     *
+     * @param fadeMillis fade length in milliseconds
+     */
+    public void stop(int fadeMillis) {
+        crossfadeTo(null, fadeMillis);
+    }
+
+    /**
+     * Stream and mix chunks until the process exits.
+     */
+    private void streamLoop() {
+        int bytesPerChunk = CHUNK_FRAMES * SoundMixer.FORMAT.getFrameSize();
+        byte[] a = new byte[bytesPerChunk];
+        byte[] b = new byte[bytesPerChunk];
+        byte[] out = new byte[bytesPerChunk];
+        while (true) {
+            Request r = request.getAndSet(null);
+            if (r != null) {
+                switchTo(r);
+            }
+
+            boolean haveCurrent = readInto(current, a);
+            boolean havePrevious = readInto(previous, b);
+            if (!haveCurrent) current = null;
+            if (!havePrevious) previous = null;
+
+            for (int frame = 0; frame < CHUNK_FRAMES; frame++) {
+                float fadeIn = fadeFrames == 0 ? 1f : Math.min(1f, (fadePosition + frame) / (float) fadeFrames);
+                for (int ch = 0; ch < 2; ch++) {
+                    int i = (frame * 2 + ch) * 2;
+                    float sample = 0;
+                    if (current != null) sample += sample(a, i) * fadeIn;
+                    if (previous != null) sample += sample(b, i) * (1f - fadeIn);
+                    int s = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, (int) sample));
+                    out[i] = (byte) s;
+                    out[i + 1] = (byte) (s >> 8);
+                }
+            }
+            if (fadeFrames > 0) {
+                fadePosition += CHUNK_FRAMES;
+                if (fadePosition >= fadeFrames) {
+                    fadeFrames = 0;
+                    if (previous != null) previous.close();
+                    previous = null;
+                }
+            }
+            line.write(out, 0, out.length); // blocks while the line buffer is full
+        }
+    }
+
+    /**
+     * Start fading from the current track to the requested one.
+     */
+    private void switchTo(Request r) {
+        if (previous != null) previous.close();
+        previous = current;
+        current = null;
+        if (r.filename != null) {
+            try {
+                current = new Track(r.filename);
+            } catch (IOException | UnsupportedAudioFileException | IllegalArgumentException e) {
+                e.printStackTrace(); // Log the error if something goes wrong
+            }
+        }
+        fadeFrames = (int) (SoundMixer.FORMAT.getFrameRate() * r.fadeMillis / 1000f);
+        fadePosition = 0;
+        if (fadeFrames == 0 && previous != null) {
+            previous.close();
+            previous = null;
+        }
+    }
+
+    /**
+     * Read the next chunk of a track.
+     *
+     * @return false if there is no track or it failed and should be dropped
+     */
+    private static boolean readInto(Track track, byte[] buf) {
+        if (track == null) return false;
+        try {
+            track.read(buf);
+            return true;
+        } catch (IOException | UnsupportedAudioFileException e) {
+            e.printStackTrace(); // Log the error if something goes wrong
+            track.close();
+            return false;
+        }
+    }
+
+    private static int sample(byte[] buf, int i) {
+        return (short) ((buf[i] & 0xff) | (buf[i + 1] << 8));
+    }
+}
@@ -0,0 +1,60 @@
+package game;
+
+/**
+ * One layer of a view's background: an image that scrolls with the camera at a
+ * fraction of the world's speed.
+ * <p>
+ * A layer with a scroll factor of 0 stays fixed on screen; a factor of 1 moves with the
+ * platforms. Tiled layers are scaled to the width of the view and repeated vertically,
+ * so they cover the screen however high the camera climbs. Layers are drawn in order,
+ * the first one at the back.
+ */
+public final class ParallaxLayer {
+
+    private final String imagePath;
+    private final float scrollFactor;
+    private final boolean tiled;
+
+    /**
+     * Create a layer.
+     *
+     * @param imagePath    path to the layer's image file
+     * @param scrollFactor how fast the layer scrolls relative to the world, usually between 0 and 1
+     * @param tiled        true to repeat the image vertically, false to stretch it over the whole view
+     */
+    public ParallaxLayer(String imagePath, float scrollFactor, boolean tiled) {
+        this.imagePath = imagePath;
+        this.scrollFactor = scrollFactor;
+        this.tiled = tiled;
+    }
+
+    /**
+     * Create a layer that fills the view and never scrolls, the classic single background.
+     *
+     * @param imagePath path to the image file
+     * @return a fixed, stretched layer
+     */
+    public static ParallaxLayer fixed(String imagePath) {
+        return new ParallaxLayer(imagePath, 0f, false);
+    }
+
+    /**
+     * Create a layer that repeats vertically and scrolls with the camera.
+     *
+     * @param imagePath    path to the image file
+     * @param scrollFactor how fast the layer scrolls relative to the world
+     * @return a tiled, scrolling layer
+     */
+    public static ParallaxLayer tiled(String imagePath, float scrollFactor) {
+        return new ParallaxLayer(imagePath, scrollFactor, true);
+    }
+
+    /** @return path to the layer's image file */
+    public String getImagePath() { return imagePath; }
+
+    /** @return how fast the layer scrolls relative to the world */
+    public float getScrollFactor() { return scrollFactor; }
+
+    /** @return true if the image repeats vertically */
+    public boolean isTiled() { return tiled; }
+}
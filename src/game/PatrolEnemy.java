@@ -3,14 +3,10 @@ package game;
 import city.cs.engine.*;
 import org.jbox2d.common.Vec2;
 
-import javax.swing.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
-
 /**
  * A patrol enemy that either paces between two X-bounds or chases the player.
  */
-public class PatrolEnemy extends Walker {
+public class PatrolEnemy extends Walker implements Hazard, SpriteAnimator.Animated {
 
     private final float leftBound;
     private final float rightBound;
@@ -20,12 +16,10 @@ public class PatrolEnemy extends Walker {
     private final int frameDelay;
     private final PatrolMode mode;
 
-    private int currentFrame = 0;
     private boolean facingRight = true;
     private boolean chasing = false;
 
-    private Timer animationTimer;
-    private AttachedImage currentImage;
+    private SpriteAnimator animator;
 
     /**
      * Patrol behavior modes.
@@ -38,7 +32,7 @@ public class PatrolEnemy extends Walker {
     /**
      * Construct a PatrolEnemy.
      *
-     * @param world        the physics world
+     * @param world        the game world
      * @param spawn        initial spawn position
      * @param leftBound    leftmost X coordinate to patrol
      * @param rightBound   rightmost X coordinate to patrol
@@ -49,7 +43,7 @@ public class PatrolEnemy extends Walker {
      * @param mode         patrol behavior mode
      */
     public PatrolEnemy(
-            World world,
+            GameWorld world,
             Vec2 spawn,
             float leftBound,
             float rightBound,
@@ -74,27 +68,31 @@ public class PatrolEnemy extends Walker {
         Shape shape = new BoxShape(1, 1);
         new SolidFixture(this, shape);
 
-        currentImage = new AttachedImage(this, walkRightImages[0], 1, 0, new Vec2(0, 0));
-        initAnimation();
+        initAnimation(world);
         initDetectionSensor();
         initCollisionHandler();
+
+        // Run patrol logic every step until this enemy is destroyed
+        world.getUpdates().subscribe(this, this::update);
     }
 
     /**
-     * Starts the animation timer cycling through frames.
+     * Attaches the animator and registers it with the world's animation system.
+     *
+     * @param world the game world driving the animation
      */
-    private void initAnimation() {
-        animationTimer = new Timer(frameDelay, new ActionListener() {
-            @Override public void actionPerformed(ActionEvent e) {
-                removeAttachedImage(currentImage);
-                BodyImage[] frames = facingRight ? walkRightImages : walkLeftImages;
-                currentImage = new AttachedImage(PatrolEnemy.this, frames[currentFrame], 1, 0, new Vec2(0, 0));
-                currentFrame = (currentFrame + 1) % frames.length;
-            }
-        });
-        animationTimer.start();
+    private void initAnimation(GameWorld world) {
+        animator = new SpriteAnimator(this, 1, walkRightImages[0])
+                .define(0, frameDelay, walkLeftImages, walkRightImages);
+        world.getAnimations().register(this, animator);
     }
 
+    /**
+     * @return the animator choosing this enemy's image
+     */
+    @Override
+    public SpriteAnimator getAnimator() { return animator; }
+
     /**
      * Creates a sensor that triggers chase mode when the player enters.
      */
@@ -113,44 +111,51 @@ public class PatrolEnemy extends Walker {
     }
 
     /**
-     * Handles collision with the player: damage, destroy, and schedule respawn.
+     * Reports collisions through the collision table, which calls {@link #hitPlayer(Player)}.
      */
     private void initCollisionHandler() {
-        addCollisionListener(new CollisionListener() {
-            @Override public void collide(CollisionEvent e) {
-                if (e.getOtherBody() == player) {
-                    player.decreaseHealth();
-                    destroy();
-                    scheduleRespawn();
-                }
-            }
-        });
+        CollisionTable.listen(this);
     }
 
+    @Override
+    public CollisionCategory getCategory() { return CollisionCategory.ENEMY; }
+
+    /**
+     * Handles collision with the player: damage, destroy, and schedule respawn.
+     *
+     * @param player the player that was hit
+     */
+    @Override
+    public void hitPlayer(Player player) {
+        player.decreaseHealth();
+        CollisionQueue.removeLater(this);
+        scheduleRespawn();
+    }
+
+    /**
+     * Patrol enemies are not hurt by terrain; the category mask filters everything else out.
+     */
+    @Override
+    public void hitSolid() { }
+
     /**
      * After the player rises 50 units, respawn a new patrol enemy.
+     * The waiting task unsubscribes itself once the new enemy exists.
      */
     private void scheduleRespawn() {
-        final World world = getWorld();
+        final GameWorld world = (GameWorld) getWorld();
         final float targetY = player.getPosition().y + 50;
-        world.addStepListener(new StepListener() {
-            private boolean respawned = false;
-            @Override public void preStep(StepEvent e) {
-                if (!respawned && player.getPosition().y >= targetY) {
-                    respawned = true;
-                    Vec2 spawn = new Vec2(player.getPosition().x, player.getPosition().y + 5);
-                    PatrolEnemy fresh = new PatrolEnemy(
-                            world, spawn, leftBound, rightBound,
-                            player, walkLeftImages, walkRightImages,
-                            frameDelay, mode
-                    );
-                    world.addStepListener(new StepListener() {
-                        @Override public void preStep(StepEvent e) { fresh.update(); }
-                        @Override public void postStep(StepEvent e) { }
-                    });
-                }
+        world.getUpdates().runUntil(() -> {
+            if (player.getPosition().y < targetY) {
+                return false;
             }
-            @Override public void postStep(StepEvent e) { }
+            Vec2 spawn = new Vec2(player.getPosition().x, player.getPosition().y + 5);
+            new PatrolEnemy(
+                    world, spawn, leftBound, rightBound,
+                    player, walkLeftImages, walkRightImages,
+                    frameDelay, mode
+            );
+            return true;
         });
     }
 
@@ -184,6 +189,7 @@ public class PatrolEnemy extends Walker {
                 facingRight = dir.x > 0;
                 break;
         }
+        animator.setFacing(facingRight);
     }
 }
 
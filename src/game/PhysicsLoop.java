@@ -0,0 +1,267 @@
+package game;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Steps a world at a fixed rate on its own thread, publishing a {@link TransformSnapshot}
+ * after every step.
+ * <p>
+ * Elapsed time is collected in an accumulator and paid out in whole steps of
+ * {@link #STEP_NANOS}, so the simulation advances identically however irregularly the
+ * thread is scheduled. If stepping falls behind by more than {@link #MAX_CATCH_UP_STEPS},
+ * the backlog is dropped instead of stepping ever more to catch up (the spiral of death).
+ * The renderer reads the two latest snapshots as one consistent pair and draws between them.
+ * <p>
+ * Snapshots are recycled from a small fixed set. The renderer pins the frame it draws with
+ * {@link #pinFrame()} and lets go with {@link #releaseFrame()}; each step is captured into a
+ * snapshot that is in neither the latest frame nor the pinned one, so the renderer never
+ * sees a snapshot being overwritten.
+ * <p>
+ * Everything a step calls runs on the physics thread, including the world's callbacks to
+ * its {@link GameHost}; a host with a UI hands those over to the Swing thread, and can tell
+ * which world called from {@link #steppingWorld()}.
+ */
+public class PhysicsLoop {
+
+    /** Length of one physics step: 60 steps per second, the engine's own step size. */
+    public static final long STEP_NANOS = 1_000_000_000L / 60;
+
+    /** Most steps run back to back before the remaining backlog is dropped. */
+    public static final int MAX_CATCH_UP_STEPS = 5;
+
+    private final GameWorld world;
+    private volatile boolean running;
+    private Thread thread;
+    private Runnable onStopped;
+
+    /** The world the current thread steps, set for the lifetime of each physics thread. */
+    private static final ThreadLocal<GameWorld> STEPPING = new ThreadLocal<>();
+
+    /**
+     * Snapshots the loop captures into: the two in the latest frame, up to two more in the
+     * frame the renderer has pinned, and one to capture the next step into.
+     */
+    private static final int SNAPSHOTS = 5;
+
+    /** The two latest snapshots, replaced together so readers always see a matching pair. */
+    private volatile Frame frame;
+    /** The frame the renderer is drawing, or null. */
+    private volatile Frame pinned;
+    private final TransformSnapshot[] snapshots = new TransformSnapshot[SNAPSHOTS];
+
+    // Counters read by the diagnostics overlay
+    private volatile long droppedSteps;
+
+    /** The latest snapshot together with the one before it. */
+    public static final class Frame {
+        private final TransformSnapshot previous;
+        private final TransformSnapshot current;
+
+        private Frame(TransformSnapshot previous, TransformSnapshot current) {
+            this.previous = previous;
+            this.current = current;
+        }
+
+        /** @return the snapshot before {@link #getCurrent()}, or null after the first step */
+        public TransformSnapshot getPrevious() { return previous; }
+
+        /** @return the latest snapshot */
+        public TransformSnapshot getCurrent() { return current; }
+
+        /**
+         * Return how far between the two snapshots a frame drawn now should be. Frames are
+         * drawn one step behind the simulation, so the value moves from 0 to 1 over the step
+         * that follows {@link #getCurrent()}.
+         *
+         * @param now current {@link System#nanoTime()}
+         * @return interpolation factor between 0 and 1
+         */
+        public float alpha(long now) {
+            float a = (now - current.getTime()) / (float) STEP_NANOS;
+            return Math.max(0f, Math.min(1f, a));
+        }
+    }
+
+    /**
+     * Create a loop for a world. The world must not be started with {@code World.start()};
+     * this loop does the stepping instead.
+     *
+     * @param world the world to step
+     */
+    public PhysicsLoop(GameWorld world) {
+        this.world = world;
+        long now = System.nanoTime();
+        snapshots[0] = TransformSnapshot.capture(world, null, world.getStepCount(), now);
+        this.frame = new Frame(null, snapshots[0]);
+    }
+
+    /**
+     * Start stepping on a new thread.
+     */
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        thread = new Thread(this::run, "physics");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stop stepping. When called from outside the physics thread this waits for the step in
+     * progress to finish; when called from inside a step (e.g. a collision ending the level)
+     * the loop exits as soon as that step returns.
+     */
+    public void stop() {
+        stop(null);
+    }
+
+    /**
+     * Stop stepping, then run an action once the last step has returned, e.g. disposing the
+     * world. The action runs on the physics thread when called from inside a step, and
+     * before this method returns otherwise.
+     *
+     * @param afterStop action to run once the world is no longer stepped, or null
+     */
+    public void stop(Runnable afterStop) {
+        Thread t;
+        synchronized (this) {
+            running = false;
+            t = thread;
+            if (t != null && afterStop != null) {
+                Runnable earlier = onStopped;
+                onStopped = earlier == null ? afterStop : () -> {
+                    earlier.run();
+                    afterStop.run();
+                };
+            }
+        }
+        if (t == null) {
+            // the thread has exited, or was never started
+            if (afterStop != null) afterStop.run();
+            return;
+        }
+        if (t != Thread.currentThread()) {
+            try {
+                t.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /** @return true while the loop is stepping */
+    public boolean isRunning() { return running; }
+
+    /** @return the world this loop steps */
+    public GameWorld getWorld() { return world; }
+
+    /**
+     * Return the latest pair of snapshots without pinning them. Their contents may be
+     * overwritten a few steps later; use {@link #pinFrame()} to draw from them.
+     *
+     * @return the latest pair of snapshots
+     */
+    public Frame getFrame() { return frame; }
+
+    /**
+     * Return the latest pair of snapshots and keep the loop from capturing into them until
+     * {@link #releaseFrame()}. Only one frame is pinned at a time, by the renderer.
+     *
+     * @return the latest pair of snapshots
+     */
+    public Frame pinFrame() {
+        Frame f;
+        do {
+            f = frame;
+            pinned = f;
+            // a step published since the read may already be capturing into f's snapshots
+        } while (frame != f);
+        return f;
+    }
+
+    /**
+     * Let the loop reuse the snapshots of the frame returned by {@link #pinFrame()}.
+     */
+    public void releaseFrame() {
+        pinned = null;
+    }
+
+    /** @return number of steps skipped because the simulation fell too far behind */
+    public long getDroppedSteps() { return droppedSteps; }
+
+    /**
+     * @return the world stepped by the calling thread, or null when not called from a
+     *         physics thread
+     */
+    public static GameWorld steppingWorld() { return STEPPING.get(); }
+
+    /**
+     * Body of the physics thread: pay out accumulated time in fixed steps, then sleep
+     * until the next step is due.
+     */
+    private void run() {
+        STEPPING.set(world);
+        long due = System.nanoTime() + STEP_NANOS; // time at which the next step should finish
+        while (running) {
+            long now = System.nanoTime();
+            int steps = 0;
+            while (now >= due && steps < MAX_CATCH_UP_STEPS && running) {
+                world.oneStep();
+                publish(due);
+                due += STEP_NANOS;
+                steps++;
+            }
+            if (now - due >= STEP_NANOS) {
+                // still behind after the catch-up budget: drop the backlog rather than spiral
+                long behind = (now - due) / STEP_NANOS;
+                droppedSteps += behind;
+                due += behind * STEP_NANOS;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+        Runnable done;
+        synchronized (this) {
+            done = onStopped;
+            onStopped = null;
+            if (thread == Thread.currentThread()) {
+                thread = null;
+            }
+        }
+        if (done != null) {
+            done.run();
+        }
+        STEPPING.remove();
+    }
+
+    /**
+     * Capture the world after a step and make it the latest snapshot.
+     *
+     * @param time clock time the step was due to finish
+     */
+    private void publish(long time) {
+        Frame latest = frame;
+        int k = spare(latest);
+        TransformSnapshot next = TransformSnapshot.capture(world, latest.current, world.getStepCount(), time, snapshots[k]);
+        snapshots[k] = next;
+        frame = new Frame(latest.current, next);
+    }
+
+    /**
+     * @return index of a snapshot in neither the latest frame nor the pinned one, or of an
+     *         empty slot if none has been created there yet
+     */
+    private int spare(Frame latest) {
+        Frame held = pinned;
+        for (int k = 0; k < SNAPSHOTS; k++) {
+            TransformSnapshot s = snapshots[k];
+            if (s == null || (s != latest.previous && s != latest.current
+                    && (held == null || (s != held.previous && s != held.current)))) {
+                return k;
+            }
+        }
+        throw new IllegalStateException("No free snapshot");
+    }
+}
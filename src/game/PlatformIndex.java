@@ -0,0 +1,147 @@
+package game;
+
+import city.cs.engine.Body;
+import org.jbox2d.common.Vec2;
+
+import java.util.Arrays;
+
+/**
+ * The platforms of a world as boxes of one size, sorted by height in flat primitive arrays,
+ * for bullets to test against.
+ * <p>
+ * Platforms are generated upwards and culled from the bottom, so adding almost always
+ * appends and removing almost always takes from the front. A query binary-searches the
+ * heights a swept segment spans and compares floats from there on, without boxing or
+ * hashing. Platforms never change height; moving platforms' x-coordinates are refreshed
+ * once per step with {@link #refresh()}.
+ */
+public class PlatformIndex {
+
+    private final float halfWidth;
+    private final float halfHeight;
+
+    private Body[] bodies = new Body[32];
+    private float[] x = new float[32];
+    private float[] y = new float[32];
+    private boolean[] moving = new boolean[32];
+    private int count = 0;
+
+    /**
+     * @param halfWidth  half the width of every platform
+     * @param halfHeight half the height of every platform
+     */
+    public PlatformIndex(float halfWidth, float halfHeight) {
+        this.halfWidth = halfWidth;
+        this.halfHeight = halfHeight;
+    }
+
+    /**
+     * Start indexing a platform at its current position.
+     *
+     * @param platform the platform
+     * @param moving   true if its x-coordinate changes and must be refreshed every step
+     */
+    public void add(Body platform, boolean moving) {
+        if (count == bodies.length) {
+            int n = count * 2;
+            bodies = Arrays.copyOf(bodies, n);
+            x = Arrays.copyOf(x, n);
+            y = Arrays.copyOf(y, n);
+            this.moving = Arrays.copyOf(this.moving, n);
+        }
+        Vec2 p = platform.getPosition();
+        int i = lowerBound(p.y + Math.ulp(p.y)); // after any platform at the same height
+        int tail = count - i;
+        System.arraycopy(bodies, i, bodies, i + 1, tail);
+        System.arraycopy(x, i, x, i + 1, tail);
+        System.arraycopy(y, i, y, i + 1, tail);
+        System.arraycopy(this.moving, i, this.moving, i + 1, tail);
+        bodies[i] = platform;
+        x[i] = p.x;
+        y[i] = p.y;
+        this.moving[i] = moving;
+        count++;
+    }
+
+    /**
+     * Stop indexing a platform.
+     *
+     * @param platform the platform to remove
+     * @return true if the platform was indexed
+     */
+    public boolean remove(Object platform) {
+        for (int i = 0; i < count; i++) {
+            if (bodies[i] == platform) {
+                int tail = count - i - 1;
+                System.arraycopy(bodies, i + 1, bodies, i, tail);
+                System.arraycopy(x, i + 1, x, i, tail);
+                System.arraycopy(y, i + 1, y, i, tail);
+                System.arraycopy(moving, i + 1, moving, i, tail);
+                bodies[--count] = null;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Read the moving platforms' current x-coordinates. Call once per step before querying.
+     */
+    public void refresh() {
+        for (int i = 0; i < count; i++) {
+            if (moving[i]) {
+                x[i] = bodies[i].getPosition().x;
+            }
+        }
+    }
+
+    /**
+     * Tell whether a segment, widened by a radius, touches a platform.
+     *
+     * @param x0     start x-coordinate
+     * @param y0     start y-coordinate
+     * @param x1     end x-coordinate
+     * @param y1     end y-coordinate
+     * @param radius radius of the bullet
+     * @return true if a platform is hit
+     */
+    public boolean hits(float x0, float y0, float x1, float y1, float radius) {
+        float w = halfWidth + radius, h = halfHeight + radius;
+        float minX = Math.min(x0, x1) - w, maxX = Math.max(x0, x1) + w;
+        float maxY = Math.max(y0, y1) + h;
+        float dx = x1 - x0, dy = y1 - y0;
+        for (int i = lowerBound(Math.min(y0, y1) - h); i < count && y[i] <= maxY; i++) {
+            float cx = x[i];
+            if (cx < minX || cx > maxX) continue;
+            if (BulletSystem.segmentHitsBox(x0, y0, dx, dy, cx - w, y[i] - h, cx + w, y[i] + h)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** @return index of the first platform at or above a height */
+    private int lowerBound(float height) {
+        int lo = 0, hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (y[mid] < height) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Forget every platform.
+     */
+    public void clear() {
+        Arrays.fill(bodies, 0, count, null);
+        count = 0;
+    }
+
+    /** @return the number of platforms indexed */
+    public int size() { return count; }
+}
@@ -4,48 +4,48 @@ import city.cs.engine.*;
 import city.cs.engine.Shape;
 import org.jbox2d.common.Vec2;
 
-import javax.swing.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
-
 /**
  * The Player class represents the character controlled by the user.
  * It includes methods for movement, jumping, health management, and star collection.
  * The player can also trigger animations for walking, idle, and jumping states.
  */
-public class Player extends Walker {
+public class Player extends Walker implements CollisionCategory.Categorized, SpriteAnimator.Animated {
+
+    /** Animation states. */
+    private static final int IDLE = 0, WALK = 1, JUMP = 2;
 
-    private static final BodyImage idleRightImage = new BodyImage("data/walk1.png", 4);
-    private static final BodyImage idleLeftImage = new BodyImage("data/walk1-1.png", 4);
+    private static final BodyImage idleRightImage = Assets.image(Assets.GLOBAL_SCOPE, "data/walk1.png", 4);
+    private static final BodyImage idleLeftImage = Assets.image(Assets.GLOBAL_SCOPE, "data/walk1-1.png", 4);
 
     private static final BodyImage[] walkLeftImages = {
-            new BodyImage("data/walk1-1.png", 4),
-            new BodyImage("data/walk2-1.png", 4),
-            new BodyImage("data/walk3-1.png", 4)};
+            Assets.image(Assets.GLOBAL_SCOPE, "data/walk1-1.png", 4),
+            Assets.image(Assets.GLOBAL_SCOPE, "data/walk2-1.png", 4),
+            Assets.image(Assets.GLOBAL_SCOPE, "data/walk3-1.png", 4)};
 
     private static final BodyImage[] walkRightImages = {
-            new BodyImage("data/walk1.png", 4),
-            new BodyImage("data/walk2.png", 4),
-            new BodyImage("data/walk3.png", 4)};
+            Assets.image(Assets.GLOBAL_SCOPE, "data/walk1.png", 4),
+            Assets.image(Assets.GLOBAL_SCOPE, "data/walk2.png", 4),
+            Assets.image(Assets.GLOBAL_SCOPE, "data/walk3.png", 4)};
 
-    private static final BodyImage jumpingRightImage = new BodyImage("data/jump1.png", 4);
-    private static final BodyImage jumpingLeftImage = new BodyImage("data/jump1-1.png", 4);
+    private static final BodyImage jumpingRightImage = Assets.image(Assets.GLOBAL_SCOPE, "data/jump1.png", 4);
+    private static final BodyImage jumpingLeftImage = Assets.image(Assets.GLOBAL_SCOPE, "data/jump1-1.png", 4);
+
+    /** Bounds of the player's shapes relative to its position, used to hit it without a contact. */
+    static final float HIT_LEFT = -1.0f, HIT_RIGHT = 0.96f, HIT_BOTTOM = -1.93f, HIT_TOP = 2.02f;
 
-    private int currentFrame = 0;
     private boolean isMoving = false;
     private boolean facingRight = true;
-    private Timer animationTimer; // Timer for walking animation
+    private final SpriteAnimator animator; // Idle, walk and jump frames, advanced by the world step
     private int health = 4;
-    private AttachedImage currentImage;
-    private Game game;
+    private GameHost game;
     private int starsCollected = 0;
 
     /**
      * Constructor for creating a new Player instance.
      * @param world the world the player will interact with
-     * @param game the game that the player is part of
+     * @param game the host of the game that the player is part of
      */
-    public Player(World world, Game game) {
+    public Player(GameWorld world, GameHost game) {
         super(world);
         this.game = game;
 
@@ -56,27 +56,23 @@ public class Player extends Walker {
         new SolidFixture(this, shape1);
         new SolidFixture(this, shape2);
 
-        // Attach initial idle image to the player
-        currentImage = new AttachedImage(this, idleRightImage, 1, 0, new Vec2(0, 0));
+        // Attach the animator, showing the idle image
+        animator = new SpriteAnimator(this, 3, idleRightImage)
+                .define(IDLE, 0, new BodyImage[]{idleLeftImage}, new BodyImage[]{idleRightImage})
+                .define(WALK, 100, walkLeftImages, walkRightImages)
+                .define(JUMP, 0, new BodyImage[]{jumpingLeftImage}, new BodyImage[]{jumpingRightImage});
         this.setPosition(new Vec2(0, -7));
 
-        // Timer for handling walking animation cycles
-        animationTimer = new Timer(100, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                if (isMoving) {
-                    updateAnimation();
-                }
-            }
-        });
+        // Frames advance with the world step
+        world.getAnimations().register(this, animator);
 
         // Foot sensor for detecting landing
         Sensor footSensor = new Sensor(this, new BoxShape(1f, 0.5f, new Vec2(0, -2)));
         footSensor.addSensorListener(new SensorListener() {
             @Override
             public void beginContact(SensorEvent e) {
-                if (e.getContactBody() instanceof StaticBody) {
-                    setIdleImage(); // Switch to idle animation when landing
+                if (e.getContactBody() instanceof StaticBody || e.getContactBody() instanceof MovingPlatform) {
+                    animator.setState(isMoving ? WALK : IDLE); // Walk or stand once landed
                 }
             }
 
@@ -87,44 +83,44 @@ public class Player extends Walker {
         });
         setGravityScale(1.5f);
 
-        // Collision listener for star collection
-        this.addCollisionListener(new CollisionListener() {
-            @Override
-            public void collide(CollisionEvent e) {
-                if (e.getOtherBody() instanceof Star) {
-                    e.getOtherBody().destroy();
-                    starsCollected++;
+        // Collisions for star collection are dispatched by the collision table
+        CollisionTable.listen(this);
+    }
 
-                    Sound.playSound("data/point.wav");
+    @Override
+    public CollisionCategory getCategory() { return CollisionCategory.PLAYER; }
 
-                    // Update score display in the game
-                    game.updateScoreDisplay(starsCollected);
+    /**
+     * Collect a star the player touched.
+     *
+     * @param star the star
+     */
+    public void collectStar(Star star) {
+        CollisionQueue.removeLater(star);
+        starsCollected++;
 
-                    // Enable additional game elements after collecting stars
-                    if (starsCollected >= 1) {
-                        game.getWorld().enableFallingSpikes();
-                    }
+        Sound.playSound("data/point.wav");
 
-                    // Proceed to the next level after collecting enough stars
-                    if (starsCollected >= 5) {
-                        game.goToNextLevel();
-                    }
-                }
-            }
-        });
+        // Update score display in the game
+        game.updateScoreDisplay(starsCollected);
+
+        // Enable additional game elements after collecting stars
+        LevelSpec spec = game.getWorld().getSpec();
+        if (starsCollected >= spec.getSpikesAfterStars()) {
+            game.getWorld().enableFallingSpikes();
+        }
+
+        // Proceed to the next level after collecting enough stars
+        if (starsCollected >= spec.getStarsToFinish()) {
+            game.goToNextLevel();
+        }
     }
 
     /**
-     * Update the walking animation based on movement direction.
+     * @return the animator choosing the player's image
      */
-    public void updateAnimation() {
-        if (isMoving) {
-            this.removeAttachedImage(currentImage);
-            BodyImage[] selectedImage = facingRight ? walkRightImages : walkLeftImages;
-            currentImage = new AttachedImage(this, selectedImage[currentFrame], 1, 0, new Vec2(0, 0));
-            currentFrame = (currentFrame + 1) % selectedImage.length;
-        }
-    }
+    @Override
+    public SpriteAnimator getAnimator() { return animator; }
 
     /**
      * Start walking the player at a given speed.
@@ -134,14 +130,14 @@ public class Player extends Walker {
         super.startWalking(speed);
         if (speed > 0 && !facingRight) {
             facingRight = true;
-            setIdleImage(); // Switch to idle animation
+            animator.setFacing(true);
         } else if (speed < 0 && facingRight) {
             facingRight = false;
-            setIdleImage(); // Switch to idle animation
+            animator.setFacing(false);
         }
-        if (!isMoving) {
-            isMoving = true;
-            animationTimer.start();
+        isMoving = true;
+        if (animator.getState() != JUMP) {
+            animator.setState(WALK);
         }
     }
 
@@ -151,8 +147,9 @@ public class Player extends Walker {
     public void stopWalking() {
         super.stopWalking();
         isMoving = false;
-        animationTimer.stop(); // Stop walking animation
-        setIdleImage();
+        if (animator.getState() != JUMP) {
+            animator.setState(IDLE); // Stand still
+        }
         this.setLinearVelocity(new Vec2(0, this.getLinearVelocity().y));
     }
 
@@ -162,23 +159,7 @@ public class Player extends Walker {
      */
     public void jump(float speed) {
         super.jump(speed);
-        setJumpingImage(); // Switch to jumping image
-    }
-
-    /**
-     * Set the jumping animation based on the direction the player is facing.
-     */
-    public void setJumpingImage() {
-        this.removeAttachedImage(currentImage);
-        currentImage = new AttachedImage(this, facingRight ? jumpingRightImage : jumpingLeftImage, 1, 0, new Vec2(0, 0));
-    }
-
-    /**
-     * Set the idle image based on the direction the player is facing.
-     */
-    private void setIdleImage() {
-        this.removeAttachedImage(currentImage);
-        currentImage = new AttachedImage(this, facingRight ? idleRightImage : idleLeftImage, 1, 0, new Vec2(0, 0));
+        animator.setState(JUMP); // Show the jumping image until landing
     }
 
     /**
@@ -1,58 +1,62 @@
 package game;
 
+import city.cs.engine.StepEvent;
+import city.cs.engine.StepListener;
+
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * The PlayerController class listens to key events and translates them into actions for the Player.
  * It manages movement (left, right) and jumping (space or up arrow key).
+ * <p>
+ * Key events are queued and applied at the start of the next world step rather than on the
+ * Swing thread, so every input lands on a well-defined step. That is what lets an
+ * {@link InputRecorder} capture a run and an {@link InputReplay} reproduce it exactly.
  */
-public class PlayerController implements KeyListener {
+public class PlayerController implements KeyListener, StepListener {
 
     private final Player player;
+    private final GameWorld world;
+    private final InputRecorder recorder;
     private static final float JUMP_FORCE = 15; // Force applied when the player jumps
     private static final float WALK_FORCE = 15; // Speed at which the player walks
 
+    /** Key events waiting for the next step, packed as key code plus {@link InputRecorder#PRESSED}. */
+    private final ConcurrentLinkedQueue<Integer> pending = new ConcurrentLinkedQueue<>();
+
     /**
      * Constructor for the PlayerController class.
      * @param player the Player object that this controller will control
+     * @param world the world the player lives in, whose steps apply queued input
+     * @param recorder log to record applied input to, or null to not record
      */
-    public PlayerController(Player player) {
+    public PlayerController(Player player, GameWorld world, InputRecorder recorder) {
         this.player = player;
+        this.world = world;
+        this.recorder = recorder;
+        world.addStepListener(this);
     }
 
     /**
      * Handles key press events. This method is called when a key is pressed.
-     * Depending on the key pressed, the player will start moving or jumping.
+     * The press is applied to the player at the start of the next step.
      *
      * @param e the KeyEvent that represents the key press
      */
     public void keyPressed(KeyEvent e) {
-        int key = e.getKeyCode();
-
-        if (key == KeyEvent.VK_LEFT) {
-            player.startWalking(-WALK_FORCE); // Move left
-        } else if (key == KeyEvent.VK_RIGHT) {
-            player.startWalking(WALK_FORCE); // Move right
-        } else if (key == KeyEvent.VK_UP || key == KeyEvent.VK_SPACE) {
-            if (player.getLinearVelocity().y < 6f) {
-                player.jump(JUMP_FORCE); // Jump if the player is not already moving too fast vertically
-            }
-        }
+        queue(e.getKeyCode(), true);
     }
 
     /**
      * Handles key release events. This method is called when a key is released.
-     * If the player was moving left or right, they will stop walking when the key is released.
+     * The release is applied to the player at the start of the next step.
      *
      * @param e the KeyEvent that represents the key release
      */
     public void keyReleased(KeyEvent e) {
-        int key = e.getKeyCode();
-
-        if (key == KeyEvent.VK_RIGHT || key == KeyEvent.VK_LEFT) {
-            player.stopWalking(); // Stop walking when the left or right key is released
-        }
+        queue(e.getKeyCode(), false);
     }
 
     /**
@@ -63,4 +67,55 @@ public class PlayerController implements KeyListener {
     public void keyTyped(KeyEvent e) {
         // Not used in this implementation
     }
+
+    /**
+     * Queue a relevant key event for the next step; other keys are ignored.
+     */
+    private void queue(int key, boolean pressed) {
+        if (key == KeyEvent.VK_LEFT || key == KeyEvent.VK_RIGHT || key == KeyEvent.VK_UP || key == KeyEvent.VK_SPACE) {
+            pending.add(key | (pressed ? InputRecorder.PRESSED : 0));
+        }
+    }
+
+    /**
+     * Apply queued key events, recording each one against this step's index.
+     */
+    @Override
+    public void preStep(StepEvent e) {
+        Integer event;
+        while ((event = pending.poll()) != null) {
+            int key = event & 0x7f;
+            boolean pressed = (event & InputRecorder.PRESSED) != 0;
+            if (recorder != null) {
+                recorder.record(world.getStepCount(), key, pressed);
+            }
+            apply(key, pressed);
+        }
+    }
+
+    @Override
+    public void postStep(StepEvent e) { }
+
+    /**
+     * Apply a key event to the player immediately. Depending on the key, the player
+     * starts or stops moving, or jumps.
+     *
+     * @param key     AWT key code
+     * @param pressed true for a press, false for a release
+     */
+    public void apply(int key, boolean pressed) {
+        if (pressed) {
+            if (key == KeyEvent.VK_LEFT) {
+                player.startWalking(-WALK_FORCE); // Move left
+            } else if (key == KeyEvent.VK_RIGHT) {
+                player.startWalking(WALK_FORCE); // Move right
+            } else if (key == KeyEvent.VK_UP || key == KeyEvent.VK_SPACE) {
+                if (player.getLinearVelocity().y < 6f) {
+                    player.jump(JUMP_FORCE); // Jump if the player is not already moving too fast vertically
+                }
+            }
+        } else if (key == KeyEvent.VK_RIGHT || key == KeyEvent.VK_LEFT) {
+            player.stopWalking(); // Stop walking when the left or right key is released
+        }
+    }
 }
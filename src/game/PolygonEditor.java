@@ -96,7 +96,7 @@ public class PolygonEditor extends JPanel
      * If file name is null, no image will be loaded.
      * @param f image file name
      */
-    private PolygonEditor(String f, float boxHeight)
+    PolygonEditor(String f, float boxHeight)
     {
         super();
         this.boxHeight = boxHeight;
@@ -160,6 +160,11 @@ public class PolygonEditor extends JPanel
         });
     }
 
+    /** Append a vertex given in world coordinates. */
+    void addPoint(float x, float y) {
+        points.add(new Point2D.Float(x, y));
+    }
+
     /** Find the index of a nearby vertex, or -1 if none. */
     int findVertex(Point2D.Float p) {
         double close = 5*scale;
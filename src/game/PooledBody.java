@@ -0,0 +1,103 @@
+package game;
+
+import city.cs.engine.AttachedImage;
+import city.cs.engine.DynamicBody;
+import city.cs.engine.Shape;
+import city.cs.engine.World;
+import org.jbox2d.common.Vec2;
+
+/**
+ * A short-lived dynamic body that can be handed out by a {@link BodyPool} again and again
+ * instead of being destroyed and constructed anew.
+ * <p>
+ * While in play a pooled body is active. When it is retired it is parked out of the way,
+ * at rest and without gravity, and its contacts are ignored until the pool reactivates it.
+ * A body created without a pool is simply destroyed when retired.
+ */
+public abstract class PooledBody extends DynamicBody {
+
+    /** The pool this body returns to, or null if it was created on its own. */
+    BodyPool<?> pool;
+    /** Index in the pool's active list while active. */
+    int slot = -1;
+    /** Step at which the body's time-to-live runs out. */
+    long expires = Long.MAX_VALUE;
+
+    private boolean active = true;
+    private int generation = 0;
+    private String imagePath;
+    private AttachedImage image;
+
+    /**
+     * @param world the world the body lives in
+     * @param shape the body's shape
+     */
+    protected PooledBody(World world, Shape shape) {
+        super(world, shape);
+    }
+
+    /**
+     * @return true while the body is in play, false while it is parked in its pool
+     */
+    public boolean isActive() { return active; }
+
+    /**
+     * @return how many times the body has been brought into play; a body reacquired from
+     *         its pool is a new generation, so it is not drawn moving from its parking spot
+     */
+    public int getGeneration() { return generation; }
+
+    /**
+     * Take the body out of play: back to its pool if it has one, otherwise destroyed.
+     * Retiring a parked body does nothing.
+     */
+    public void retire() {
+        if (pool != null) {
+            pool.release(this);
+        } else {
+            destroy();
+        }
+    }
+
+    /**
+     * Show an image, reusing the attached one if it already shows the same file.
+     *
+     * @param path  path to the image file
+     * @param scale height of the image in world units
+     */
+    protected void setImage(String path, float scale) {
+        if (path.equals(imagePath)) return;
+        if (image != null) {
+            removeAttachedImage(image);
+        }
+        image = addImage(Assets.image(getWorld(), path, scale));
+        imagePath = path;
+    }
+
+    /**
+     * Bring the body back into play at a position, at rest and upright.
+     *
+     * @param position where the body appears
+     */
+    void activate(Vec2 position) {
+        active = true;
+        generation++;
+        setPosition(position);
+        setAngle(0);
+        setAngularVelocity(0);
+        setLinearVelocity(new Vec2(0, 0));
+    }
+
+    /**
+     * Move the body out of play and hold it still there.
+     *
+     * @param parking a spot no other body occupies
+     */
+    void park(Vec2 parking) {
+        active = false;
+        setGravityScale(0);
+        setAngularVelocity(0);
+        setLinearVelocity(new Vec2(0, 0));
+        setPosition(parking);
+    }
+}
@@ -0,0 +1,251 @@
+package game;
+
+import city.cs.engine.Body;
+import city.cs.engine.CollisionListener;
+import city.cs.engine.StepEvent;
+import city.cs.engine.StepListener;
+import city.cs.engine.World;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-step instrumentation for a game world.
+ * <p>
+ * Every step listener registered with a {@link GameWorld} is wrapped so its preStep and
+ * postStep time is recorded under its own name, added up into one sample per step. The physics step itself is measured as
+ * the gap between the last preStep and the first postStep, minus time spent in collision
+ * callbacks, which are recorded separately. The view records its paint time here too.
+ * Each section keeps a rolling window of samples from which percentiles are computed.
+ * Live body and fixture counts and the physics thread's allocation rate are sampled as well.
+ */
+public class Profiler {
+
+    /** Number of samples kept per section (four seconds of steps at 60Hz). */
+    private static final int WINDOW = 240;
+    /** Steps between body and fixture counts, which walk every body. */
+    private static final int COUNT_INTERVAL = 30;
+
+    /** Name of the physics section. */
+    public static final String PHYSICS = "physics";
+    /** Name of the collision callback section. */
+    public static final String COLLISIONS = "collisions";
+    /** Name of the view painting section. */
+    public static final String PAINT = "paint";
+
+    private final World world;
+    private final Map<String, Section> sections = new LinkedHashMap<>();
+    private final Map<StepListener, StepListener> wrappers = new LinkedHashMap<>();
+
+    private long lastPreStepEnd;
+    private boolean inPostStep;
+    private long collisionNanos;
+    private int steps;
+
+    private volatile int bodyCount;
+    private volatile int fixtureCount;
+    private volatile double allocatedBytesPerStep;
+    private long lastAllocated = -1;
+
+    /** A named timing with a rolling window of samples. */
+    public static final class Section {
+        private final String name;
+        private final long[] samples = new long[WINDOW];
+        private int next;
+        private int filled;
+
+        Section(String name) {
+            this.name = name;
+        }
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % WINDOW;
+            if (filled < WINDOW) filled++;
+        }
+
+        /**
+         * @param p percentile between 0 and 100
+         * @return the given percentile of the recorded samples, in microseconds
+         */
+        public synchronized double percentileMicros(double p) {
+            if (filled == 0) return 0;
+            long[] sorted = Arrays.copyOf(samples, filled);
+            Arrays.sort(sorted);
+            int i = (int) Math.min(filled - 1, Math.round(p / 100 * (filled - 1)));
+            return sorted[i] / 1000.0;
+        }
+
+        /** @return the section's name */
+        public String getName() { return name; }
+    }
+
+    /**
+     * Create a profiler for a world.
+     *
+     * @param world the world whose bodies are counted
+     */
+    public Profiler(World world) {
+        this.world = world;
+    }
+
+    /**
+     * Return the section with the given name, creating it if needed.
+     *
+     * @param name section name
+     * @return the section
+     */
+    public synchronized Section section(String name) {
+        return sections.computeIfAbsent(name, Section::new);
+    }
+
+    /** @return a snapshot of every section, in registration order */
+    public synchronized List<Section> getSections() {
+        return new ArrayList<>(sections.values());
+    }
+
+    /**
+     * Wrap a step listener so its time is recorded under the given name.
+     *
+     * @param name     section name
+     * @param listener the listener to time
+     * @return the timing wrapper to register with the world
+     */
+    public synchronized StepListener wrap(String name, StepListener listener) {
+        Section section = section(name);
+        StepListener wrapper = new StepListener() {
+            // preStep time of the current step, recorded together with its postStep time
+            private long preNanos;
+
+            @Override public void preStep(StepEvent e) {
+                if (inPostStep) {
+                    // first preStep of a new step
+                    inPostStep = false;
+                    collisionNanos = 0;
+                }
+                long t0 = System.nanoTime();
+                listener.preStep(e);
+                long t1 = System.nanoTime();
+                preNanos = t1 - t0;
+                lastPreStepEnd = t1;
+            }
+
+            @Override public void postStep(StepEvent e) {
+                if (!inPostStep) {
+                    inPostStep = true;
+                    endPhysics(System.nanoTime());
+                }
+                // taken after endPhysics, so its sampling is not charged to this listener
+                long t0 = System.nanoTime();
+                listener.postStep(e);
+                section.record(preNanos + System.nanoTime() - t0);
+                preNanos = 0;
+            }
+        };
+        wrappers.put(listener, wrapper);
+        return wrapper;
+    }
+
+    /**
+     * Forget a wrapped listener.
+     *
+     * @param listener the listener originally passed to {@link #wrap}
+     * @return its wrapper, or the listener itself if it was never wrapped
+     */
+    public synchronized StepListener unwrap(StepListener listener) {
+        StepListener wrapper = wrappers.remove(listener);
+        return wrapper != null ? wrapper : listener;
+    }
+
+    /**
+     * Wrap a collision listener so its time is recorded under {@link #COLLISIONS}.
+     *
+     * @param listener the listener to time
+     * @return the timing wrapper to register with the body
+     */
+    public CollisionListener wrap(CollisionListener listener) {
+        Section section = section(COLLISIONS);
+        return e -> {
+            long t0 = System.nanoTime();
+            listener.collide(e);
+            long dt = System.nanoTime() - t0;
+            collisionNanos += dt;
+            section.record(dt);
+        };
+    }
+
+    /**
+     * Time a body's collision listener if it lives in a profiled world.
+     *
+     * @param world    the body's world
+     * @param listener the listener to time
+     * @return a timing wrapper, or the listener itself outside a {@link GameWorld}
+     */
+    public static CollisionListener timed(World world, CollisionListener listener) {
+        return world instanceof GameWorld ? ((GameWorld) world).getProfiler().wrap(listener) : listener;
+    }
+
+    /**
+     * Record one paint of the view.
+     *
+     * @param nanos time taken to paint
+     */
+    public void recordPaint(long nanos) {
+        section(PAINT).record(nanos);
+    }
+
+    /**
+     * Close the physics interval of a step and sample counts and allocation.
+     */
+    private void endPhysics(long now) {
+        if (lastPreStepEnd != 0) {
+            section(PHYSICS).record(Math.max(0, now - lastPreStepEnd - collisionNanos));
+        }
+        sampleAllocation();
+        if (++steps % COUNT_INTERVAL == 0) {
+            countBodies();
+        }
+    }
+
+    private void sampleAllocation() {
+        try {
+            com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long allocated = mx.getThreadAllocatedBytes(Thread.currentThread().getId());
+            if (lastAllocated >= 0 && allocated >= lastAllocated) {
+                // exponential moving average over roughly one second of steps
+                allocatedBytesPerStep += ((allocated - lastAllocated) - allocatedBytesPerStep) / 60;
+            }
+            lastAllocated = allocated;
+        } catch (ClassCastException | UnsupportedOperationException e) {
+            allocatedBytesPerStep = -1;
+        }
+    }
+
+    private void countBodies() {
+        int bodies = 0;
+        int fixtures = 0;
+        for (Body b : world.getStaticBodies()) {
+            bodies++;
+            fixtures += b.getFixtureList().size();
+        }
+        for (Body b : world.getDynamicBodies()) {
+            bodies++;
+            fixtures += b.getFixtureList().size();
+        }
+        bodyCount = bodies;
+        fixtureCount = fixtures;
+    }
+
+    /** @return live bodies at the last count */
+    public int getBodyCount() { return bodyCount; }
+
+    /** @return live fixtures at the last count */
+    public int getFixtureCount() { return fixtureCount; }
+
+    /** @return approximate bytes allocated on the physics thread per step, or -1 if unavailable */
+    public double getAllocatedBytesPerStep() { return allocatedBytesPerStep; }
+}
@@ -5,9 +5,16 @@ import org.jbox2d.common.Vec2;
 
 /**
  * The Projectile class represents a projectile that moves through the world and can collide with other bodies.
- * The projectile applies an initial velocity and listens for collisions, reacting based on the type of body it collides with.
+ * The projectile applies an initial velocity; its collisions are dispatched by {@link CollisionTable}.
+ * Enemies take their projectiles from the world's {@link BodyPool}, so a projectile that hits
+ * something or flies off is parked and fired again rather than destroyed.
  */
-public class Projectile extends DynamicBody implements CollisionListener {
+public class Projectile extends PooledBody implements Hazard {
+
+    /** Most projectiles a world keeps in play at once. */
+    public static final int POOL_CAPACITY = 64;
+    /** Steps a projectile flies before it is retired, four seconds at 60 steps per second. */
+    public static final int TTL_STEPS = 240;
 
     private static final Shape projectileShape = new CircleShape(0.4f); // Shape of the projectile (a circle)
     // private static final BodyImage projectileImage = new BodyImage("data/shot.png", 0.8f); // Image for the projectile (optional)
@@ -21,32 +28,54 @@ public class Projectile extends DynamicBody implements CollisionListener {
      * @param imagePath the path to the image that represents the projectile
      */
     public Projectile(World world, Vec2 position, Vec2 velocity, String imagePath) {
-        super(world, projectileShape);
-        addImage(new BodyImage(imagePath, 0.95f)); // Add the image for the projectile
+        this(world);
         setPosition(position); // Set the initial position
-        setLinearVelocity(velocity); // Apply the initial velocity
+        launch(velocity, imagePath);
+    }
+
+    /**
+     * Create a projectile for a pool, to be launched once acquired.
+     *
+     * @param world the world in which the projectile exists
+     */
+    Projectile(World world) {
+        super(world, projectileShape);
 
         // Listen for collisions with other bodies
-        addCollisionListener(this);
+        CollisionTable.listen(this);
     }
 
     /**
-     * This method is called whenever a collision occurs.
-     * If the projectile collides with a player, the player's health is decreased.
-     * The projectile is destroyed after collision, regardless of the type of body it collides with,
-     * except for the enemy.
+     * Send the projectile on its way from where it is.
      *
-     * @param e the CollisionEvent that contains details about the collision
+     * @param velocity the initial velocity of the projectile
+     * @param imagePath the path to the image that represents the projectile
+     */
+    public void launch(Vec2 velocity, String imagePath) {
+        setImage(imagePath, 0.95f); // Show the image for the projectile
+        setGravityScale(1);
+        setLinearVelocity(velocity); // Apply the initial velocity
+    }
+
+    @Override
+    public CollisionCategory getCategory() { return CollisionCategory.PROJECTILE; }
+
+    /**
+     * Decrease the player's health and remove the projectile.
+     *
+     * @param player the player that was hit
+     */
+    @Override
+    public void hitPlayer(Player player) {
+        player.decreaseHealth();
+        CollisionQueue.removeLater(this);
+    }
+
+    /**
+     * Remove the projectile when it hits anything solid. Enemies are filtered out by category.
      */
     @Override
-    public void collide(CollisionEvent e) {
-        if (e.getOtherBody() instanceof Player) {
-            Player player = (Player) e.getOtherBody();
-            player.decreaseHealth(); // Decrease player health on collision
-
-            destroy(); // Destroy the projectile after it hits the player
-        } else if (!(e.getOtherBody() instanceof Enemy)) {
-            destroy(); // Destroy the projectile if it collides with anything other than an enemy
-        }
+    public void hitSolid() {
+        CollisionQueue.removeLater(this);
     }
 }
@@ -0,0 +1,91 @@
+package game;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+
+/**
+ * Leak check that repeats a start-and-tear-down cycle many times and verifies that heap
+ * usage and live threads return to where they were after the first cycle.
+ * <p>
+ * The first cycle is a warm-up: it loads classes, fills the process-wide asset cache and
+ * starts the shared audio threads, none of which are leaks. Anything a cycle leaves behind
+ * after that (a world still referenced, a timer or loop thread still running) grows with
+ * the number of cycles and fails the check.
+ */
+public final class Soak {
+
+    /** Heap growth over the baseline tolerated after all cycles, for GC noise. */
+    private static final long HEAP_TOLERANCE_BYTES = 16L * 1024 * 1024;
+
+    private Soak() { }
+
+    /**
+     * Run a cycle repeatedly and report whether heap and threads returned to baseline.
+     *
+     * @param name   what is being soaked, for the report
+     * @param cycles number of cycles after the warm-up
+     * @param cycle  starts something and tears it down again
+     * @return true if nothing leaked
+     * @throws Exception if a cycle fails
+     */
+    public static boolean run(String name, int cycles, Cycle cycle) throws Exception {
+        cycle.run();
+        long baseHeap = usedHeap();
+        int baseThreads = liveThreads();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < cycles; i++) {
+            cycle.run();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long heap = usedHeap();
+        int threads = liveThreads();
+        boolean ok = heap - baseHeap <= HEAP_TOLERANCE_BYTES && threads <= baseThreads;
+        System.out.printf("%s soak: %d cycles in %.1f s%n", name, cycles, elapsed / 1e9);
+        System.out.printf("  heap    %6.1f MB -> %6.1f MB (%+.1f MB)%n",
+                baseHeap / 1048576.0, heap / 1048576.0, (heap - baseHeap) / 1048576.0);
+        System.out.printf("  threads %6d    -> %6d%n", baseThreads, threads);
+        System.out.println(ok ? "  PASS" : "  FAIL: resources are not released between cycles");
+        if (threads > baseThreads) {
+            for (ThreadInfo t : ManagementFactory.getThreadMXBean().dumpAllThreads(false, false)) {
+                System.out.println("    " + t.getThreadName());
+            }
+        }
+        return ok;
+    }
+
+    /** One start-and-tear-down cycle. */
+    public interface Cycle {
+        /**
+         * @throws Exception if the cycle fails
+         */
+        void run() throws Exception;
+    }
+
+    /**
+     * @return heap in use after collecting garbage
+     */
+    private static long usedHeap() throws InterruptedException {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    /**
+     * @return live threads, not counting common fork-join workers, which come and go with
+     * parallel image decoding and die on their own when idle
+     */
+    private static int liveThreads() {
+        int count = 0;
+        for (Thread t : Thread.getAllStackTraces().keySet()) {
+            if (t.isAlive() && !t.getName().startsWith("ForkJoinPool.commonPool-worker")) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -1,51 +1,89 @@
 package game;
 
-import javax.sound.sampled.*;
-import java.io.File;
-import java.io.IOException;
+import org.jbox2d.common.Vec2;
 
 /**
  * The Sound class provides methods to play sound effects and background music in the game.
- * It uses Java's `javax.sound.sampled` package to manage audio playback.
+ * Effects are mixed by {@link SoundMixer} and music is streamed by {@link MusicPlayer}.
  */
 public class Sound {
 
-    // Holds the background music clip that can be looped
-    private static Clip backgroundClip;
+    // Visible world rectangle (centre and half extents), used to skip sounds from off-screen emitters
+    private static volatile float viewX, viewY;
+    private static volatile float viewHalfWidth = Float.MAX_VALUE, viewHalfHeight = Float.MAX_VALUE;
+
+    // When muted no audio line is ever opened, e.g. for headless simulation
+    private static volatile boolean muted = false;
 
     /**
-     * Plays a sound effect once.
+     * Mute or unmute all sound. While muted, effects and music calls are ignored
+     * and the audio system is never touched.
+     *
+     * @param mute true to silence all sound
+     */
+    public static void setMuted(boolean mute) {
+        muted = mute;
+    }
+
+    /**
+     * Plays a sound effect once through the shared mixer.
+     * The sound is decoded once and mixed in memory, so this is cheap to call from collision callbacks.
      *
      * @param filename the path to the audio file to be played
      */
     public static void playSound(String filename) {
-        try {
-            // Load the audio file
-            AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(new File(filename));
-            Clip clip = AudioSystem.getClip();
-            clip.open(audioInputStream); // Prepare the clip
-            clip.start(); // Play the sound effect
-        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
-            e.printStackTrace(); // Log the error if something goes wrong
+        if (filename == null || muted) return;
+        SoundMixer.get().play(filename, 1f);
+    }
+
+    /**
+     * Plays a sound effect emitted at a world position, skipping it if the emitter is off-screen.
+     *
+     * @param filename the path to the audio file to be played
+     * @param emitter  the world position the sound comes from
+     */
+    public static void playSound(String filename, Vec2 emitter) {
+        if (Math.abs(emitter.x - viewX) > viewHalfWidth || Math.abs(emitter.y - viewY) > viewHalfHeight) {
+            return;
         }
+        playSound(filename);
     }
 
     /**
-     * Plays background music in a loop.
+     * Record the visible world rectangle so off-screen sounds can be culled.
+     *
+     * @param centreX    x-coordinate of the view centre
+     * @param centreY    y-coordinate of the view centre
+     * @param halfWidth  half the visible width in world units
+     * @param halfHeight half the visible height in world units
+     */
+    public static void setView(float centreX, float centreY, float halfWidth, float halfHeight) {
+        viewX = centreX;
+        viewY = centreY;
+        viewHalfWidth = halfWidth;
+        viewHalfHeight = halfHeight;
+    }
+
+    /**
+     * Plays background music in a loop, streamed from disk.
      *
      * @param filename the path to the audio file to be played continuously
      */
     public static void playBackgroundMusic(String filename) {
-        try {
-            // Load the background music audio file
-            AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(new File(filename));
-            backgroundClip = AudioSystem.getClip(); // Get the clip object
-            backgroundClip.open(audioInputStream); // Prepare the clip
-            backgroundClip.loop(Clip.LOOP_CONTINUOUSLY); // Loop the music indefinitely
-            backgroundClip.start(); // Start the music
-        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
-            e.printStackTrace(); // Log the error if something goes wrong
-        }
+        if (muted) return;
+        MusicPlayer.get().crossfadeTo(filename, 0);
+    }
+
+    /**
+     * Crossfades from the current background music to another looping track.
+     * Returns immediately; the fade runs on the music streaming thread.
+     *
+     * @param filename   the path to the new audio file
+     * @param fadeMillis length of the crossfade in milliseconds
+     */
+    public static void crossfadeBackgroundMusic(String filename, int fadeMillis) {
+        if (muted) return;
+        MusicPlayer.get().crossfadeTo(filename, fadeMillis);
     }
 
     /**
@@ -53,10 +91,7 @@ public class Sound {
      * This method is used to stop the looping background music.
      */
     public static void stopBackgroundMusic() {
-        if (backgroundClip != null && backgroundClip.isRunning()) {
-            backgroundClip.stop(); // Stop the music
-            backgroundClip.close(); // Close the clip
-        }
+        if (muted) return;
+        MusicPlayer.get().stop(0);
     }
 }
-
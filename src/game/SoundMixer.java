@@ -0,0 +1,232 @@
+package game;
+
+import javax.sound.sampled.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Software mixer for short sound effects.
+ * <p>
+ * Each WAV is decoded once into 16-bit stereo PCM and kept in memory. Active voices are
+ * summed on a dedicated thread and written to a single {@link SourceDataLine}, so triggering
+ * a sound never touches the disk or opens a new line. At most {@link #MAX_VOICES} voices play
+ * at once; when all are busy the quietest voice, or the oldest among equally quiet ones,
+ * is replaced.
+ */
+public final class SoundMixer {
+
+    /** Output format shared by every decoded effect. */
+    public static final AudioFormat FORMAT = new AudioFormat(44100f, 16, 2, true, false);
+
+    /** Maximum number of effects mixed at the same time. */
+    public static final int MAX_VOICES = 8;
+
+    /** Frames mixed per chunk; 256 frames is about 6ms, well under one 60Hz frame. */
+    private static final int CHUNK_FRAMES = 256;
+
+    /** Effects larger than this are left to the music player instead of being preloaded. */
+    private static final long MAX_PRELOAD_BYTES = 2 * 1024 * 1024;
+
+    private static SoundMixer instance;
+
+    private final Map<String, short[]> samples = new HashMap<>();
+    private final ConcurrentLinkedQueue<Voice> pending = new ConcurrentLinkedQueue<>();
+    private final Voice[] voices = new Voice[MAX_VOICES];
+    private SourceDataLine line;
+    private final AtomicLong triggerCount = new AtomicLong();
+
+    /** One playing instance of a decoded effect. */
+    private static final class Voice {
+        final short[] data;
+        final float gain;
+        final long order;
+        int position;
+
+        Voice(short[] data, float gain, long order) {
+            this.data = data;
+            this.gain = gain;
+            this.order = order;
+        }
+    }
+
+    private SoundMixer() { }
+
+    /**
+     * Return the shared mixer, opening the output line and decoding the effects in
+     * {@code data/} on first use. If no audio device is available the mixer stays silent.
+     *
+     * @return the process-wide mixer
+     */
+    public static synchronized SoundMixer get() {
+        if (instance == null) {
+            instance = new SoundMixer();
+            instance.preloadDirectory(new File("data"));
+            instance.open();
+        }
+        return instance;
+    }
+
+    /**
+     * Decode every WAV effect in a directory into memory, from the asset archive when
+     * it is packed.
+     *
+     * @param dir directory to scan
+     */
+    private void preloadDirectory(File dir) {
+        AssetArchive archive = AssetArchive.get();
+        if (archive != null) {
+            String prefix = dir.getPath() + "/";
+            for (String path : archive.list(prefix, ".wav")) {
+                if (path.indexOf('/', prefix.length()) < 0 && archive.length(path) <= MAX_PRELOAD_BYTES) {
+                    decode(path);
+                }
+            }
+            return;
+        }
+        File[] files = dir.listFiles((d, name) -> name.toLowerCase().endsWith(".wav"));
+        if (files == null) return;
+        for (File f : files) {
+            if (f.length() <= MAX_PRELOAD_BYTES) {
+                decode(f.getPath());
+            }
+        }
+    }
+
+    /**
+     * Return the decoded samples for a file, decoding it on first request.
+     *
+     * @param filename path to the WAV file
+     * @return interleaved stereo samples, or null if the file cannot be decoded
+     */
+    private synchronized short[] decode(String filename) {
+        if (samples.containsKey(filename)) {
+            return samples.get(filename);
+        }
+        short[] data = null;
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(AssetArchive.open(filename));
+             AudioInputStream pcm = AudioSystem.getAudioInputStream(FORMAT, toSigned(source))) {
+            byte[] bytes = pcm.readAllBytes();
+            data = new short[bytes.length / 2];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = (short) ((bytes[2 * i] & 0xff) | (bytes[2 * i + 1] << 8));
+            }
+        } catch (UnsupportedAudioFileException | IOException | IllegalArgumentException e) {
+            e.printStackTrace(); // Log the error if something goes wrong
+        }
+        samples.put(filename, data); // cache failures too, so a bad file is only reported once
+        return data;
+    }
+
+    /**
+     * Convert a stream to signed 16-bit PCM at its own rate, the form the rate converter accepts.
+     */
+    private static AudioInputStream toSigned(AudioInputStream in) {
+        AudioFormat f = in.getFormat();
+        if (f.getEncoding() == AudioFormat.Encoding.PCM_SIGNED && f.getSampleSizeInBits() == 16) {
+            return in;
+        }
+        AudioFormat signed = new AudioFormat(f.getSampleRate(), 16, f.getChannels(), true, false);
+        return AudioSystem.getAudioInputStream(signed, in);
+    }
+
+    /**
+     * Open the output line and start the mixing thread.
+     */
+    private void open() {
+        try {
+            line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, CHUNK_FRAMES * FORMAT.getFrameSize() * 4);
+            line.start();
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            System.err.println("Sound effects disabled: " + e.getMessage());
+            line = null;
+            return;
+        }
+        Thread mixer = new Thread(this::mixLoop, "sound-mixer");
+        mixer.setDaemon(true);
+        mixer.start();
+    }
+
+    /**
+     * Queue an effect for playback. Safe to call from any thread; the sound starts
+     * within one mixing chunk.
+     *
+     * @param filename path to the WAV file
+     * @param gain     volume multiplier, 1 for full volume
+     */
+    public void play(String filename, float gain) {
+        if (line == null) return;
+        short[] data = decode(filename);
+        if (data != null) {
+            pending.add(new Voice(data, gain, triggerCount.getAndIncrement()));
+        }
+    }
+
+    /** @return number of voices currently playing */
+    public int getActiveVoices() {
+        int n = 0;
+        for (Voice v : voices) {
+            if (v != null) n++;
+        }
+        return n;
+    }
+
+    /**
+     * Mix active voices chunk by chunk into the output line until the process exits.
+     */
+    private void mixLoop() {
+        int samplesPerChunk = CHUNK_FRAMES * 2;
+        int[] mix = new int[samplesPerChunk];
+        byte[] out = new byte[samplesPerChunk * 2];
+        while (true) {
+            Voice v;
+            while ((v = pending.poll()) != null) {
+                voices[freeSlot()] = v;
+            }
+
+            Arrays.fill(mix, 0);
+            for (int i = 0; i < voices.length; i++) {
+                Voice voice = voices[i];
+                if (voice == null) continue;
+                int n = Math.min(samplesPerChunk, voice.data.length - voice.position);
+                for (int s = 0; s < n; s++) {
+                    mix[s] += (int) (voice.data[voice.position + s] * voice.gain);
+                }
+                voice.position += n;
+                if (voice.position >= voice.data.length) {
+                    voices[i] = null;
+                }
+            }
+
+            for (int s = 0; s < samplesPerChunk; s++) {
+                int sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, mix[s]));
+                out[2 * s] = (byte) sample;
+                out[2 * s + 1] = (byte) (sample >> 8);
+            }
+            line.write(out, 0, out.length); // blocks until the line has room, pacing the loop
+        }
+    }
+
+    /**
+     * Find a slot for a new voice, stealing the quietest (then oldest) voice if all are busy.
+     *
+     * @return index into {@link #voices}
+     */
+    private int freeSlot() {
+        int victim = 0;
+        for (int i = 0; i < voices.length; i++) {
+            Voice v = voices[i];
+            if (v == null) return i;
+            Voice w = voices[victim];
+            if (v.gain < w.gain || (v.gain == w.gain && v.order < w.order)) {
+                victim = i;
+            }
+        }
+        return victim;
+    }
+}
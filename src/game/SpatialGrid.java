@@ -0,0 +1,137 @@
+package game;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uniform-grid spatial hash over world positions.
+ * <p>
+ * Items are bucketed by the square cell containing their position. Moving an item only
+ * touches the grid when it crosses a cell boundary, and radius or rectangle queries only
+ * visit the cells that overlap the query, so their cost depends on what is nearby rather
+ * than on how many items exist in the world.
+ *
+ * @param <T> type of item stored
+ */
+public class SpatialGrid<T> {
+
+    private final float cellSize;
+    private final Map<Long, List<T>> cells = new HashMap<>();
+    private final Map<T, Long> cellOf = new HashMap<>();
+    private final Map<T, float[]> positions = new HashMap<>();
+
+    /**
+     * Create an empty grid.
+     *
+     * @param cellSize width and height of a cell in world units; roughly the typical query radius works well
+     */
+    public SpatialGrid(float cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Add an item, or move it if it is already present.
+     *
+     * @param item the item
+     * @param x    world x-coordinate
+     * @param y    world y-coordinate
+     */
+    public void update(T item, float x, float y) {
+        float[] pos = positions.get(item);
+        if (pos == null) {
+            positions.put(item, new float[]{x, y});
+        } else {
+            pos[0] = x;
+            pos[1] = y;
+        }
+        long key = key(cell(x), cell(y));
+        Long old = cellOf.get(item);
+        if (old != null && old == key) return;
+        if (old != null) removeFromCell(old, item);
+        cells.computeIfAbsent(key, k -> new ArrayList<>()).add(item);
+        cellOf.put(item, key);
+    }
+
+    /**
+     * Remove an item; does nothing if it is not present.
+     *
+     * @param item the item
+     */
+    public void remove(T item) {
+        Long key = cellOf.remove(item);
+        if (key != null) {
+            removeFromCell(key, item);
+            positions.remove(item);
+        }
+    }
+
+    /**
+     * Collect every item within a distance of a point.
+     *
+     * @param x      centre x-coordinate
+     * @param y      centre y-coordinate
+     * @param radius search radius in world units
+     * @param out    list the matching items are appended to
+     */
+    public void queryRadius(float x, float y, float radius, List<T> out) {
+        float r2 = radius * radius;
+        int minCx = cell(x - radius), maxCx = cell(x + radius);
+        int minCy = cell(y - radius), maxCy = cell(y + radius);
+        for (int cx = minCx; cx <= maxCx; cx++) {
+            for (int cy = minCy; cy <= maxCy; cy++) {
+                List<T> bucket = cells.get(key(cx, cy));
+                if (bucket == null) continue;
+                for (int i = 0; i < bucket.size(); i++) {
+                    T item = bucket.get(i);
+                    float[] p = positions.get(item);
+                    float dx = p[0] - x, dy = p[1] - y;
+                    if (dx * dx + dy * dy <= r2) out.add(item);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collect every item whose position lies inside a rectangle, e.g. the visible view.
+     *
+     * @param minX left edge
+     * @param minY bottom edge
+     * @param maxX right edge
+     * @param maxY top edge
+     * @param out  list the matching items are appended to
+     */
+    public void queryRect(float minX, float minY, float maxX, float maxY, List<T> out) {
+        for (int cx = cell(minX); cx <= cell(maxX); cx++) {
+            for (int cy = cell(minY); cy <= cell(maxY); cy++) {
+                List<T> bucket = cells.get(key(cx, cy));
+                if (bucket == null) continue;
+                for (int i = 0; i < bucket.size(); i++) {
+                    T item = bucket.get(i);
+                    float[] p = positions.get(item);
+                    if (p[0] >= minX && p[0] <= maxX && p[1] >= minY && p[1] <= maxY) out.add(item);
+                }
+            }
+        }
+    }
+
+    /** @return the number of items in the grid */
+    public int size() {
+        return cellOf.size();
+    }
+
+    private void removeFromCell(long key, T item) {
+        List<T> bucket = cells.get(key);
+        bucket.remove(item);
+        if (bucket.isEmpty()) cells.remove(key);
+    }
+
+    private int cell(float v) {
+        return (int) Math.floor(v / cellSize);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xffffffffL);
+    }
+}
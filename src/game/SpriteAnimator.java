@@ -0,0 +1,133 @@
+package game;
+
+import city.cs.engine.AttachedImage;
+import city.cs.engine.Body;
+import city.cs.engine.BodyImage;
+import org.jbox2d.common.Vec2;
+
+/**
+ * Animates a body by switching frames in a pre-built table instead of replacing its images.
+ * <p>
+ * The animator attaches one image to its body when it is created and never touches the
+ * body's images again. Frames are grouped by state (e.g. idle, walk, jump) and facing;
+ * the owner switches state and facing, and the world's {@link AnimationSystem} advances the
+ * frame within the state. Advancing a frame is an index increment and an array read, with
+ * no allocation. The renderer draws the current frame in place of the attached image, which
+ * CityEngine's own view keeps showing until the renderer takes over.
+ */
+public final class SpriteAnimator {
+
+    /** A body drawn through a sprite animator. */
+    public interface Animated {
+        /** @return the body's animator */
+        SpriteAnimator getAnimator();
+    }
+
+    // Frames per state and facing, at index state * 2 + (right ? 1 : 0)
+    private final BodyImage[][] frames;
+    // Steps each frame of a state is shown, or 0 to hold the first frame
+    private final int[] period;
+    private final AttachedImage attached;
+
+    private int state = 0;
+    private boolean right = true;
+    private int frame = 0;
+    private int counter = 0;
+    private BodyImage[] table;
+    private BodyImage current;
+
+    /**
+     * Create an animator and attach its image to a body. Every state must be defined with
+     * {@link #define} before the animator is shown or ticked.
+     *
+     * @param body   the animated body
+     * @param states number of states
+     * @param first  the image shown until the first state is set
+     */
+    public SpriteAnimator(Body body, int states, BodyImage first) {
+        frames = new BodyImage[states * 2][];
+        period = new int[states];
+        current = first;
+        attached = new AttachedImage(body, first, 1, 0, new Vec2(0, 0));
+    }
+
+    /**
+     * Define the frames of a state.
+     *
+     * @param state    the state
+     * @param periodMs time each frame is shown in milliseconds, or 0 for a still image
+     * @param left     frames when facing left
+     * @param right    frames when facing right
+     * @return this animator
+     */
+    public SpriteAnimator define(int state, int periodMs, BodyImage[] left, BodyImage[] right) {
+        frames[state * 2] = left.clone();
+        frames[state * 2 + 1] = right.clone();
+        period[state] = periodMs <= 0 ? 0 : Math.max(1, Math.round(periodMs / AnimationSystem.STEP_MILLIS));
+        if (state == this.state) {
+            show();
+        }
+        return this;
+    }
+
+    /**
+     * Switch to a state, starting from its first frame. Switching to the current state
+     * keeps its frame.
+     *
+     * @param state the state
+     */
+    public void setState(int state) {
+        if (state == this.state) return;
+        this.state = state;
+        frame = 0;
+        counter = 0;
+        show();
+    }
+
+    /**
+     * Turn to face left or right, keeping the current state and frame.
+     *
+     * @param right true to face right
+     */
+    public void setFacing(boolean right) {
+        if (right == this.right) return;
+        this.right = right;
+        show();
+    }
+
+    /**
+     * Advance by one world step, moving to the next frame once the state's period elapses.
+     */
+    void tick() {
+        int p = period[state];
+        if (p == 0 || ++counter < p) return;
+        counter = 0;
+        frame = frame + 1 < table.length ? frame + 1 : 0;
+        current = table[frame];
+    }
+
+    /**
+     * Select the frame table of the current state and facing.
+     */
+    private void show() {
+        table = frames[state * 2 + (right ? 1 : 0)];
+        if (table == null) return;
+        if (frame >= table.length) frame = 0;
+        current = table[frame];
+    }
+
+    /** @return the current state */
+    public int getState() { return state; }
+
+    /** @return true if facing right */
+    public boolean isFacingRight() { return right; }
+
+    /** @return index of the current frame within its state */
+    public int getFrame() { return frame; }
+
+    /** @return the image to draw now */
+    public BodyImage current() { return current; }
+
+    /** @return the image attached to the body, which the current frame is drawn in place of */
+    public AttachedImage getAttachedImage() { return attached; }
+}
@@ -6,7 +6,7 @@ import city.cs.engine.*;
  * The Star class represents a collectible star object in the game.
  * It is a static object (does not move) that the player can collect to earn points or trigger events.
  */
-public class Star extends StaticBody {
+public class Star extends StaticBody implements CollisionCategory.Categorized {
 
     /**
      * Constructs a new Star object in the given world.
@@ -19,10 +19,13 @@ public class Star extends StaticBody {
         super(world, new CircleShape(0.5f));
 
         // Add an image to represent the star
-        addImage(new BodyImage("data/star.png", 1.0f));
+        addImage(Assets.image(world, "data/star.png", 1.0f));
 
         // Set the name of the star for collision detection or identification
         setName("star");
     }
+
+    @Override
+    public CollisionCategory getCategory() { return CollisionCategory.COLLECTIBLE; }
 }
 
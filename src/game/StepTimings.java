@@ -0,0 +1,72 @@
+package game;
+
+import java.util.Arrays;
+
+/**
+ * Accumulates the time a world spends in each phase of its per-step update.
+ * Used by {@link HeadlessRunner} to report where simulation time goes.
+ */
+public class StepTimings {
+
+    /** Platform generation and star spawning. */
+    public static final int PLATFORMS = 0;
+    /** Tearing down chunks below the camera. */
+    public static final int CULLING = 1;
+    /** Moving platforms back and forth. */
+    public static final int MOVING_PLATFORMS = 2;
+    /** Enemy projectile firing. */
+    public static final int FIRING = 3;
+    /** Falling spike spawning. */
+    public static final int SPIKES = 4;
+    /** Moving bullets and resolving their hits. */
+    public static final int BULLETS = 5;
+
+    private static final String[] NAMES = {"platforms", "culling", "moving platforms", "firing", "spikes", "bullets"};
+
+    private final long[] nanos = new long[NAMES.length];
+    private long steps;
+
+    /**
+     * Add time spent in a phase during the current step.
+     *
+     * @param phase one of the phase constants
+     * @param ns    elapsed nanoseconds
+     */
+    public void add(int phase, long ns) {
+        nanos[phase] += ns;
+    }
+
+    /** Mark the end of one step. */
+    public void endStep() {
+        steps++;
+    }
+
+    /** Clear all accumulated timings. */
+    public void reset() {
+        Arrays.fill(nanos, 0);
+        steps = 0;
+    }
+
+    /** @return the number of phases tracked */
+    public int phaseCount() { return NAMES.length; }
+
+    /**
+     * @param phase one of the phase constants
+     * @return the display name of the phase
+     */
+    public String name(int phase) { return NAMES[phase]; }
+
+    /**
+     * @param phase one of the phase constants
+     * @return total nanoseconds spent in the phase
+     */
+    public long totalNanos(int phase) { return nanos[phase]; }
+
+    /**
+     * @param phase one of the phase constants
+     * @return mean microseconds per step spent in the phase
+     */
+    public double averageMicros(int phase) {
+        return steps == 0 ? 0 : nanos[phase] / 1000.0 / steps;
+    }
+}
@@ -0,0 +1,355 @@
+package game;
+
+import city.cs.engine.AttachedImage;
+import city.cs.engine.Body;
+import city.cs.engine.BodyImage;
+import city.cs.engine.World;
+import org.jbox2d.common.Vec2;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A copy of the position, angle and attached images of every body in a world, taken at the
+ * end of one physics step.
+ * <p>
+ * Snapshots are captured on the physics thread and handed to the renderer, which only
+ * ever reads these copies and never the live bodies. Once the renderer is done with a
+ * snapshot, the physics thread may capture a later step into it, reusing its arrays, so a
+ * step allocates nothing once the buffers have grown to the world's size. Drawing between the two latest
+ * snapshots with {@link #interpolate} keeps motion smooth whatever the display rate.
+ * Bodies are also bucketed into horizontal rows, so {@link #queryRect} finds what is
+ * on screen without looking at the rest of the world. A {@link GameWorld}'s bullets, which
+ * are not bodies, are copied alongside, and so is the current frame of every body drawn
+ * through a {@link SpriteAnimator}.
+ */
+public final class TransformSnapshot {
+
+    /** Height of one row of the culling index, in world units. */
+    public static final float ROW_HEIGHT = 5f;
+
+    /** Rows beyond this many from the lowest body share the top row, bounding the index size. */
+    private static final int MAX_ROWS = 4096;
+
+    private static final AttachedImage[] NO_IMAGES = new AttachedImage[0];
+
+    private long step;
+    private long time;
+    private int count;
+    private Body[] bodies = new Body[0];
+    private float[] x = new float[0];
+    private float[] y = new float[0];
+    private float[] angle = new float[0];
+    private AttachedImage[][] images = new AttachedImage[0][];
+    // Current animation frame of each animated body and the attached image it replaces, or null
+    private BodyImage[] frame = new BodyImage[0];
+    private AttachedImage[] frameSlot = new AttachedImage[0];
+    private BulletSystem.Snapshot bullets = BulletSystem.Snapshot.EMPTY;
+
+    /** Index of each body in the previous snapshot, or -1 if it is new. */
+    private int[] previousIndex = new int[0];
+    /** Generation of each pooled body, or 0. */
+    private int[] generation = new int[0];
+
+    // Body to array index: an open-addressed identity table, so lookups box nothing
+    private Body[] indexKeys = new Body[0];
+    private int[] indexValues = new int[0];
+
+    // Culling index: body indices ordered by row, and where each row starts in that order
+    private int firstRow;
+    private int rows;
+    private int[] rowStart = new int[1];
+    private int[] rowOrder = new int[0];
+    private int[] rowFill = new int[1];
+
+    private TransformSnapshot() { }
+
+    /**
+     * Copy every static and dynamic body in a world into a new snapshot. Must be called on
+     * the thread stepping the world, between steps.
+     *
+     * @param world    the world to copy
+     * @param previous the snapshot taken after the previous step, or null
+     * @param step     index of the step that just finished
+     * @param time     clock time, in nanoseconds, at which that step was due to finish
+     * @return the new snapshot
+     */
+    public static TransformSnapshot capture(World world, TransformSnapshot previous, long step, long time) {
+        return capture(world, previous, step, time, null);
+    }
+
+    /**
+     * Copy every static and dynamic body in a world, reusing an older snapshot's buffers.
+     * Must be called on the thread stepping the world, between steps, and only with a
+     * snapshot nobody is reading any more.
+     *
+     * @param world    the world to copy
+     * @param previous the snapshot taken after the previous step, or null
+     * @param step     index of the step that just finished
+     * @param time     clock time, in nanoseconds, at which that step was due to finish
+     * @param recycled a snapshot to overwrite, or null to allocate a new one; must not be
+     *                 {@code previous}
+     * @return the snapshot, {@code recycled} if one was given
+     */
+    public static TransformSnapshot capture(World world, TransformSnapshot previous, long step, long time,
+                                            TransformSnapshot recycled) {
+        List<? extends Body> statics = world.getStaticBodies();
+        List<? extends Body> dynamics = world.getDynamicBodies();
+        TransformSnapshot s = recycled != null ? recycled : new TransformSnapshot();
+        s.reset(step, time, statics.size() + dynamics.size());
+        int i = s.copy(statics, 0, previous);
+        s.copy(dynamics, i, previous);
+        s.buildRows();
+        BulletSystem bullets = world instanceof GameWorld ? ((GameWorld) world).getBullets() : null;
+        s.bullets = bullets != null ? bullets.snapshot(s.bullets) : BulletSystem.Snapshot.EMPTY;
+        return s;
+    }
+
+    /**
+     * Make room for a number of bodies and forget the bodies of the step captured before,
+     * so a recycled snapshot holds on to nothing the world has destroyed since.
+     */
+    private void reset(long step, long time, int n) {
+        this.step = step;
+        this.time = time;
+        if (bodies.length < n) {
+            int cap = Math.max(n, bodies.length + (bodies.length >> 1));
+            bodies = new Body[cap];
+            x = new float[cap];
+            y = new float[cap];
+            angle = new float[cap];
+            images = new AttachedImage[cap][];
+            frame = new BodyImage[cap];
+            frameSlot = new AttachedImage[cap];
+            previousIndex = new int[cap];
+            generation = new int[cap];
+        } else if (n < count) {
+            Arrays.fill(bodies, n, count, null);
+            Arrays.fill(images, n, count, null);
+        }
+        Arrays.fill(frame, 0, Math.max(n, count), null);
+        Arrays.fill(frameSlot, 0, Math.max(n, count), null);
+        count = n;
+
+        // keep the table at most half full
+        int tableSize = Integer.highestOneBit(Math.max(8, n) - 1) << 2;
+        if (indexKeys.length < tableSize) {
+            indexKeys = new Body[tableSize];
+            indexValues = new int[tableSize];
+        } else {
+            Arrays.fill(indexKeys, null);
+        }
+    }
+
+    private int copy(List<? extends Body> list, int i, TransformSnapshot previous) {
+        for (Body b : list) {
+            Vec2 p = b.getPosition();
+            bodies[i] = b;
+            x[i] = p.x;
+            y[i] = p.y;
+            angle[i] = b.getAngle();
+            put(b, i);
+            generation[i] = b instanceof PooledBody ? ((PooledBody) b).getGeneration() : 0;
+            int prev = previous != null ? previous.indexOf(b) : -1;
+            if (prev >= 0 && previous.generation[prev] != generation[i]) {
+                // reacquired from its pool since: a new body as far as drawing is concerned
+                prev = -1;
+            }
+            previousIndex[i] = prev;
+            images[i] = copyImages(b, prev >= 0 ? previous.images[prev] : null);
+            if (b instanceof SpriteAnimator.Animated) {
+                SpriteAnimator animator = ((SpriteAnimator.Animated) b).getAnimator();
+                frame[i] = animator.current();
+                frameSlot[i] = animator.getAttachedImage();
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Return the body's attached images, reusing the previous step's array when nothing
+     * changed, which is almost every step for almost every body.
+     */
+    private static AttachedImage[] copyImages(Body b, AttachedImage[] previous) {
+        List<AttachedImage> live = b.getImages();
+        if (live == null || live.isEmpty()) return NO_IMAGES;
+        if (previous != null && previous.length == live.size()) {
+            boolean same = true;
+            for (int k = 0; k < previous.length && same; k++) {
+                same = previous[k] == live.get(k);
+            }
+            if (same) return previous;
+        }
+        return live.toArray(NO_IMAGES);
+    }
+
+    /**
+     * Bucket the bodies into rows of {@link #ROW_HEIGHT} with a counting sort.
+     */
+    private void buildRows() {
+        int n = count;
+        if (rowOrder.length < n) {
+            rowOrder = new int[bodies.length];
+        }
+        if (n == 0) {
+            rows = 0;
+            return;
+        }
+        int lo = Integer.MAX_VALUE, hi = Integer.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            int r = (int) Math.floor(y[i] / ROW_HEIGHT);
+            lo = Math.min(lo, r);
+            hi = Math.max(hi, r);
+        }
+        firstRow = lo;
+        rows = Math.min(hi - lo + 1, MAX_ROWS);
+        if (rowStart.length < rows + 1) {
+            rowStart = new int[rows + 1];
+            rowFill = new int[rows + 1];
+        } else {
+            Arrays.fill(rowStart, 0, rows + 1, 0);
+        }
+        for (int i = 0; i < n; i++) {
+            rowStart[row(y[i]) + 1]++;
+        }
+        for (int r = 0; r < rows; r++) {
+            rowStart[r + 1] += rowStart[r];
+        }
+        System.arraycopy(rowStart, 0, rowFill, 0, rows + 1);
+        for (int i = 0; i < n; i++) {
+            rowOrder[rowFill[row(y[i])]++] = i;
+        }
+    }
+
+    /** @return the row of the culling index a height falls in, clamped to the index */
+    private int row(float wy) {
+        int r = (int) Math.floor(wy / ROW_HEIGHT) - firstRow;
+        return Math.max(0, Math.min(rows - 1, r));
+    }
+
+    /**
+     * Collect the bodies whose position lies inside a rectangle. Only the rows overlapping
+     * the rectangle are visited. Callers drawing sprites should grow the rectangle by the
+     * largest sprite's half size.
+     *
+     * @param minX left edge
+     * @param minY bottom edge
+     * @param maxX right edge
+     * @param maxY top edge
+     * @param out  receives body indices; must have room for {@link #size()} entries
+     * @return the number of indices written
+     */
+    public int queryRect(float minX, float minY, float maxX, float maxY, int[] out) {
+        if (count == 0) return 0;
+        int found = 0;
+        int end = rowStart[row(maxY) + 1];
+        for (int k = rowStart[row(minY)]; k < end; k++) {
+            int i = rowOrder[k];
+            if (x[i] >= minX && x[i] <= maxX && y[i] >= minY && y[i] <= maxY) {
+                out[found++] = i;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Find the interpolated position of a body between two snapshots.
+     *
+     * @param from  the older snapshot, or null to use {@code to} alone
+     * @param to    the newer snapshot
+     * @param body  the body to look up
+     * @param alpha how far from {@code from} to {@code to}, between 0 and 1
+     * @param out   receives the position
+     * @return false if the body is not in {@code to}, in which case {@code out} is unchanged
+     */
+    public static boolean interpolate(TransformSnapshot from, TransformSnapshot to, Body body, float alpha, Vec2 out) {
+        int j = to.indexOf(body);
+        if (j < 0) return false;
+        to.interpolate(from, j, alpha, out);
+        return true;
+    }
+
+    /**
+     * Find the interpolated position of one of this snapshot's bodies, coming from
+     * the snapshot before it.
+     *
+     * @param from  the snapshot this one was captured after, or null
+     * @param i     index of the body in this snapshot
+     * @param alpha how far from {@code from} to this snapshot, between 0 and 1
+     * @param out   receives the position
+     */
+    public void interpolate(TransformSnapshot from, int i, float alpha, Vec2 out) {
+        int p = from != null ? previousIndex[i] : -1;
+        if (p < 0) {
+            // body appeared this step: nothing to blend from
+            out.set(x[i], y[i]);
+        } else {
+            out.set(from.x[p] + (x[i] - from.x[p]) * alpha,
+                    from.y[p] + (y[i] - from.y[p]) * alpha);
+        }
+    }
+
+    /**
+     * @param body a body
+     * @return its index in this snapshot, or -1 if it was not in the world
+     */
+    public int indexOf(Body body) {
+        int mask = indexKeys.length - 1;
+        if (mask < 0) return -1;
+        for (int h = hash(body) & mask; ; h = (h + 1) & mask) {
+            Body k = indexKeys[h];
+            if (k == body) return indexValues[h];
+            if (k == null) return -1;
+        }
+    }
+
+    /** Record a body's index in the identity table, which {@link #reset} sized for it. */
+    private void put(Body body, int i) {
+        int mask = indexKeys.length - 1;
+        int h = hash(body) & mask;
+        while (indexKeys[h] != null && indexKeys[h] != body) {
+            h = (h + 1) & mask;
+        }
+        indexKeys[h] = body;
+        indexValues[h] = i;
+    }
+
+    private static int hash(Body body) {
+        int h = System.identityHashCode(body);
+        return h ^ (h >>> 16);
+    }
+
+    /** @return index of the step this snapshot was taken after */
+    public long getStep() { return step; }
+
+    /** @return clock time, in nanoseconds, the step was due to finish */
+    public long getTime() { return time; }
+
+    /** @return number of bodies in this snapshot */
+    public int size() { return count; }
+
+    /** @return body number {@code i} of this snapshot */
+    public Body body(int i) { return bodies[i]; }
+
+    /** @return x-coordinate of body {@code i} */
+    public float x(int i) { return x[i]; }
+
+    /** @return y-coordinate of body {@code i} */
+    public float y(int i) { return y[i]; }
+
+    /** @return angle of body {@code i}, in radians */
+    public float angle(int i) { return angle[i]; }
+
+    /** @return images attached to body {@code i}, in drawing order; must not be modified */
+    public AttachedImage[] images(int i) { return images[i]; }
+
+    /** @return the frame animated body {@code i} shows in place of {@link #frameSlot(int)}, or null */
+    public BodyImage frame(int i) { return frame[i]; }
+
+    /** @return the attached image whose picture is replaced by {@link #frame(int)}, or null */
+    public AttachedImage frameSlot(int i) { return frameSlot[i]; }
+
+    /** @return the bullets in flight */
+    public BulletSystem.Snapshot getBullets() { return bullets; }
+}
@@ -0,0 +1,76 @@
+package game;
+
+import city.cs.engine.Body;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A horizontal band of the world that owns every body generated inside it.
+ * <p>
+ * Chunks are created on demand as the player climbs and are torn down as a whole
+ * once they fall far enough below the camera, so the number of live bodies stays
+ * bounded no matter how high the player gets.
+ */
+public class WorldChunk {
+
+    /** Vertical size of a chunk in world units. */
+    public static final float HEIGHT = 30f;
+
+    private final int index;
+    private List<Body> bodies = new ArrayList<>();
+
+    /**
+     * Create an empty chunk.
+     *
+     * @param index vertical index of the chunk; chunk {@code i} covers {@code [i*HEIGHT, (i+1)*HEIGHT)}
+     */
+    public WorldChunk(int index) {
+        this.index = index;
+    }
+
+    /**
+     * Return the index of the chunk containing the given height.
+     *
+     * @param y world y-coordinate
+     * @return the chunk index for {@code y}
+     */
+    public static int indexOf(float y) {
+        return (int) Math.floor(y / HEIGHT);
+    }
+
+    /**
+     * Register a body with this chunk. The body is forgotten again if it is destroyed
+     * by gameplay (e.g. a collected star) before the chunk is torn down.
+     *
+     * @param body the body to own
+     */
+    public void add(Body body) {
+        bodies.add(body);
+        body.addDestructionListener(e -> bodies.remove(body));
+    }
+
+    /**
+     * Destroy every body still owned by this chunk, including its attached images.
+     *
+     * @return the bodies that were destroyed, so the caller can drop its own references
+     */
+    public List<Body> tearDown() {
+        List<Body> owned = bodies;
+        bodies = new ArrayList<>();
+        for (Body b : owned) {
+            b.removeAllImages();
+            b.destroy();
+        }
+        return owned;
+    }
+
+    /** @return the vertical index of this chunk */
+    public int getIndex() { return index; }
+
+    /** @return the y-coordinate of the top edge of this chunk */
+    public float getTop() { return (index + 1) * HEIGHT; }
+
+    /** @return the number of bodies currently owned by this chunk */
+    public int size() { return bodies.size(); }
+}
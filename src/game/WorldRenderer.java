@@ -0,0 +1,224 @@
+package game;
+
+import city.cs.engine.AttachedImage;
+import city.cs.engine.Body;
+import city.cs.engine.BodyImage;
+import city.cs.engine.StaticBody;
+import org.jbox2d.common.Vec2;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Draws the bodies of a world from physics snapshots, skipping everything off screen.
+ * <p>
+ * Each frame asks the latest {@link TransformSnapshot} for the bodies inside the visible
+ * rectangle, sorts them into layers (platforms at the back, the player in front) and draws
+ * their images at positions interpolated between the two latest snapshots. Images are
+ * pre-scaled once to their size on screen, so drawing one is a plain copy. Animated bodies
+ * show their {@link SpriteAnimator}'s current frame in place of its attached image. The cost of a
+ * frame depends on what is visible, not on how many bodies the world holds. Bullets are
+ * drawn in one batch with the projectiles, looking each bullet image up once per frame.
+ */
+public class WorldRenderer {
+
+    /** Number of drawing layers; see {@link #layerOf(Body)}. */
+    public static final int LAYERS = 4;
+
+    /** Layer of projectiles, which bullets are drawn with. */
+    private static final int PROJECTILE_LAYER = 2;
+
+    /** Extra world units around the view searched for bodies whose images reach into it. */
+    private static final float MARGIN = 6f;
+
+    private final Map<BodyImage, Sprite> sprites = new IdentityHashMap<>();
+    private int[] visible = new int[256];
+    private final int[][] layers = new int[LAYERS][64];
+    private final int[] layerSize = new int[LAYERS];
+    private final Vec2 position = new Vec2();
+    private BufferedImage[] bulletSprites = new BufferedImage[4];
+    private int drawn;
+
+    /** A body image scaled to its size on screen. */
+    private static final class Sprite {
+        final BufferedImage image;
+        final float scale;
+        final float pixelsPerUnit;
+
+        Sprite(BufferedImage image, float scale, float pixelsPerUnit) {
+            this.image = image;
+            this.scale = scale;
+            this.pixelsPerUnit = pixelsPerUnit;
+        }
+    }
+
+    /**
+     * Return the drawing layer of a body; higher layers are drawn on top.
+     *
+     * @param body a body
+     * @return 0 for platforms, 1 for pickups, hazards and enemies, 2 for projectiles, 3 for the player
+     */
+    public static int layerOf(Body body) {
+        if (body instanceof StaticBody || body instanceof MovingPlatform) return 0;
+        if (body instanceof Projectile) return PROJECTILE_LAYER;
+        if (body instanceof Player) return 3;
+        return 1;
+    }
+
+    /**
+     * Draw every visible body.
+     *
+     * @param g             graphics of the view, untransformed
+     * @param gc            configuration to create screen-compatible images for
+     * @param frame         the two latest physics snapshots
+     * @param alpha         interpolation factor between them
+     * @param centre        world position at the centre of the view
+     * @param width         width of the view in pixels
+     * @param height        height of the view in pixels
+     * @param pixelsPerUnit scale of the world on screen
+     */
+    public void paint(Graphics2D g, GraphicsConfiguration gc, PhysicsLoop.Frame frame, float alpha,
+                      Vec2 centre, int width, int height, float pixelsPerUnit) {
+        TransformSnapshot from = frame.getPrevious();
+        TransformSnapshot to = frame.getCurrent();
+        float halfW = width / 2f / pixelsPerUnit + MARGIN;
+        float halfH = height / 2f / pixelsPerUnit + MARGIN;
+
+        if (visible.length < to.size()) {
+            visible = new int[Math.max(to.size(), visible.length * 2)];
+        }
+        int count = to.queryRect(centre.x - halfW, centre.y - halfH, centre.x + halfW, centre.y + halfH, visible);
+
+        // bucket by layer, keeping snapshot order within a layer
+        Arrays.fill(layerSize, 0);
+        for (int k = 0; k < count; k++) {
+            int i = visible[k];
+            int layer = layerOf(to.body(i));
+            if (layerSize[layer] == layers[layer].length) {
+                layers[layer] = Arrays.copyOf(layers[layer], layers[layer].length * 2);
+            }
+            layers[layer][layerSize[layer]++] = i;
+        }
+
+        drawn = 0;
+        for (int layer = 0; layer < LAYERS; layer++) {
+            for (int k = 0; k < layerSize[layer]; k++) {
+                int i = layers[layer][k];
+                to.interpolate(from, i, alpha, position);
+                float sx = width / 2f + (position.x - centre.x) * pixelsPerUnit;
+                float sy = height / 2f - (position.y - centre.y) * pixelsPerUnit;
+                drawBody(g, gc, to.images(i), to.frameSlot(i), to.frame(i), to.angle(i), sx, sy, pixelsPerUnit);
+                drawn++;
+            }
+            if (layer == PROJECTILE_LAYER) {
+                drawBullets(g, gc, to.getBullets(), alpha, centre, width, height, halfW, halfH, pixelsPerUnit);
+            }
+        }
+    }
+
+    /**
+     * Draw every visible bullet. Each bullet image is looked up once, then the bullets are
+     * drawn in a single loop of plain image copies.
+     */
+    private void drawBullets(Graphics2D g, GraphicsConfiguration gc, BulletSystem.Snapshot bullets, float alpha,
+                             Vec2 centre, int width, int height, float halfW, float halfH, float pixelsPerUnit) {
+        if (bullets.size() == 0) return;
+        BodyImage[] images = bullets.images();
+        if (bulletSprites.length < images.length) {
+            bulletSprites = new BufferedImage[images.length];
+        }
+        for (int k = 0; k < images.length; k++) {
+            Sprite sprite = sprite(gc, images[k], 1, pixelsPerUnit);
+            bulletSprites[k] = sprite != null ? sprite.image : null;
+        }
+
+        for (int i = 0; i < bullets.size(); i++) {
+            float bx = bullets.x(i, alpha), by = bullets.y(i, alpha);
+            if (Math.abs(bx - centre.x) > halfW || Math.abs(by - centre.y) > halfH) continue;
+            BufferedImage img = bulletSprites[bullets.sprite(i)];
+            if (img == null) continue;
+            float sx = width / 2f + (bx - centre.x) * pixelsPerUnit;
+            float sy = height / 2f - (by - centre.y) * pixelsPerUnit;
+            g.drawImage(img, Math.round(sx - img.getWidth() / 2f), Math.round(sy - img.getHeight() / 2f), null);
+            drawn++;
+        }
+    }
+
+    /**
+     * Draw the images attached to one body, centred on its screen position, showing an
+     * animation frame in place of the attached image it belongs to.
+     */
+    private void drawBody(Graphics2D g, GraphicsConfiguration gc, AttachedImage[] images,
+                          AttachedImage frameSlot, BodyImage frame, float angle,
+                          float sx, float sy, float pixelsPerUnit) {
+        float cos = (float) Math.cos(angle), sin = (float) Math.sin(angle);
+        for (AttachedImage attached : images) {
+            BodyImage bodyImage = attached == frameSlot ? frame : attached.getBodyImage();
+            Sprite sprite = sprite(gc, bodyImage, attached.getScale(), pixelsPerUnit);
+            if (sprite == null) continue;
+            BufferedImage img = sprite.image;
+
+            // the offset turns with the body; screen y points down
+            Vec2 offset = attached.getOffset();
+            float ox = offset != null ? offset.x : 0, oy = offset != null ? offset.y : 0;
+            float px = sx + (ox * cos - oy * sin) * pixelsPerUnit;
+            float py = sy - (ox * sin + oy * cos) * pixelsPerUnit;
+
+            float rotation = angle + attached.getRotation();
+            if (rotation == 0) {
+                g.drawImage(img, Math.round(px - img.getWidth() / 2f), Math.round(py - img.getHeight() / 2f), null);
+            } else {
+                g.translate(px, py);
+                g.rotate(-rotation);
+                g.drawImage(img, -img.getWidth() / 2, -img.getHeight() / 2, null);
+                g.rotate(rotation);
+                g.translate(-px, -py);
+            }
+        }
+    }
+
+    /**
+     * Return a body image pre-scaled for the screen, creating it on first use.
+     *
+     * @return the sprite, or null if the image is unknown or failed to load
+     */
+    private Sprite sprite(GraphicsConfiguration gc, BodyImage bodyImage, float scale, float pixelsPerUnit) {
+        if (bodyImage == null) return null;
+        Sprite sprite = sprites.get(bodyImage);
+        if (sprite != null && sprite.scale == scale && sprite.pixelsPerUnit == pixelsPerUnit) {
+            return sprite;
+        }
+        String path = Assets.pathOf(bodyImage);
+        if (path == null) return null;
+        Image source = Assets.icon(path).getImage();
+        int sw = source.getWidth(null), sh = source.getHeight(null);
+        if (sw <= 0 || sh <= 0) return null;
+
+        int h = Math.max(1, Math.round(Assets.heightOf(bodyImage) * scale * pixelsPerUnit));
+        int w = Math.max(1, Math.round(h * sw / (float) sh));
+        BufferedImage img = gc.createCompatibleImage(w, h, Transparency.TRANSLUCENT);
+        Graphics2D g = img.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(source, 0, 0, w, h, null);
+        } finally {
+            g.dispose();
+        }
+        sprite = new Sprite(img, scale, pixelsPerUnit);
+        sprites.put(bodyImage, sprite);
+        return sprite;
+    }
+
+    /**
+     * Forget every pre-scaled image, e.g. when the view is disposed.
+     */
+    public void clear() {
+        sprites.clear();
+    }
+
+    /** @return the number of bodies drawn in the last frame */
+    public int getDrawn() { return drawn; }
+}